@@ -0,0 +1,53 @@
+package com.app.login.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the authentication hot-path benchmarks as one baseline: the JWT
+ * filter, JwtUtil, CustomUserDetailsService on H2, BankConfigService and
+ * LoginEvent serialization. Every benchmark reports throughput and average
+ * time with the GC profiler attached, so gc.alloc.rate.norm (bytes per
+ * operation) sits next to the timings, and results are written to
+ * jmh-result.json for comparing runs before and after a change.
+ *
+ *   java -cp benchmarks.jar com.app.login.benchmark.AuthBenchmarks [regex...]
+ *
+ * With no arguments the hot-path set is run; arguments replace it with the
+ * given benchmark name patterns. The other benchmarks in this package answer
+ * narrower questions and are run on their own through the JMH main class.
+ */
+public final class AuthBenchmarks {
+
+    private static final String[] HOT_PATHS = {
+            JwtAuthenticationFilterBenchmark.class.getSimpleName(),
+            JwtUtilBenchmark.class.getSimpleName(),
+            UserDetailsServiceBenchmark.class.getSimpleName(),
+            BankConfigServiceBenchmark.class.getSimpleName(),
+            LoginEventSerializationBenchmark.class.getSimpleName()
+    };
+
+    private AuthBenchmarks() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .mode(Mode.Throughput)
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MICROSECONDS) // one unit across the set: ops/us and us/op
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json");
+        for (String pattern : args.length > 0 ? args : HOT_PATHS) {
+            options.include(pattern);
+        }
+        new Runner(options.build()).run();
+    }
+}
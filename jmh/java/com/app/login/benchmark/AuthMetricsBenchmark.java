@@ -0,0 +1,72 @@
+package com.app.login.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.login.metrics.AuthMetrics;
+import com.app.login.metrics.AuthMetrics.Operation;
+import com.app.login.metrics.AuthMetrics.Outcome;
+import com.app.login.metrics.AuthMetrics.Phase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+/**
+ * Cost of one timed phase in the login pipeline: a start() and record() pair
+ * on the registry the service exports to. Compare against the disabled case,
+ * which is just the method calls, and run with several threads to see
+ * contention on the shared histogram buckets:
+ *   java -jar benchmarks.jar AuthMetricsBenchmark -t 8 -prof gc
+ * A login records about ten of these; the filter records three per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class AuthMetricsBenchmark {
+
+    @Param({"disabled", "simple", "prometheus", "prometheus-histogram"})
+    public String registry;
+
+    private AuthMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        metrics = switch (registry) {
+            case "disabled" -> new AuthMetrics(new SimpleMeterRegistry(), false, false);
+            case "simple" -> new AuthMetrics(new SimpleMeterRegistry(), true, false);
+            case "prometheus" -> new AuthMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), true, false);
+            default -> new AuthMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), true, true);
+        };
+    }
+
+    @Benchmark
+    public long recordPhase() {
+        long started = metrics.start();
+        metrics.record(Phase.FILTER_TOKEN_VERIFY, started);
+        return started;
+    }
+
+    @Benchmark
+    public long recordOperation() {
+        long started = metrics.start();
+        metrics.record(Operation.LOGIN, Outcome.SUCCESS, started);
+        return started;
+    }
+}
@@ -0,0 +1,119 @@
+package com.app.login.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.app.login.config.BankProperties;
+import com.app.login.entity.BankConfiguration;
+import com.app.login.repository.BankConfigurationRepository;
+import com.app.login.service.BankConfigService;
+import com.app.login.service.TenantResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * GET /bank-config without the web layer: resolving the tenant from the
+ * header, the host or the default, then reading its snapshot from the
+ * in-memory registry. refresh() is included to show what a reload costs
+ * with the repository mocked out, i.e. rebuilding snapshots and ETags.
+ *   java -jar benchmarks.jar BankConfigServiceBenchmark -prof gc
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BankConfigServiceBenchmark {
+
+    @Param({"1", "100"})
+    public int tenants;
+
+    private BankConfigService bankConfigService;
+    private TenantResolver tenantResolver;
+    private MockHttpServletRequest byHeader;
+    private MockHttpServletRequest byHost;
+    private MockHttpServletRequest byDefault;
+
+    @Setup
+    public void setUp() {
+        BankProperties properties = new BankProperties();
+        properties.setSupportedLanguages(List.of("en", "hi", "es"));
+        properties.setSupportedCurrencies(List.of(currency("USD", 2), currency("EUR", 2), currency("BHD", 3)));
+
+        List<BankConfiguration> configurations = new ArrayList<>(tenants);
+        configurations.add(configuration(null, "Credexa Bank", null));
+        for (int i = 1; i < tenants; i++) {
+            configurations.add(configuration("tenant-" + i, "Bank " + i, "bank" + i + ".example"));
+        }
+        BankConfigurationRepository repository = Mockito.mock(BankConfigurationRepository.class);
+        Mockito.when(repository.findAllByActiveTrue()).thenReturn(configurations);
+
+        bankConfigService = new BankConfigService(repository, properties, new ObjectMapper(), 300);
+        tenantResolver = new TenantResolver(bankConfigService, properties);
+        bankConfigService.refresh();
+
+        String tenant = tenants > 1 ? "tenant-" + (tenants - 1) : properties.getDefaultTenant();
+        byHeader = new MockHttpServletRequest("GET", "/api/auth/bank-config");
+        byHeader.addHeader(properties.getTenantHeader(), tenant);
+        byHost = new MockHttpServletRequest("GET", "/api/auth/bank-config");
+        byHost.setServerName(tenants > 1 ? "bank" + (tenants - 1) + ".example" : "localhost");
+        byDefault = new MockHttpServletRequest("GET", "/api/auth/bank-config");
+        byDefault.setServerName("unknown.example");
+    }
+
+    @Benchmark
+    public BankConfigService.Snapshot resolveByHeader() {
+        return bankConfigService.getSnapshot(tenantResolver.resolve(byHeader));
+    }
+
+    @Benchmark
+    public BankConfigService.Snapshot resolveByHost() {
+        return bankConfigService.getSnapshot(tenantResolver.resolve(byHost));
+    }
+
+    @Benchmark
+    public BankConfigService.Snapshot resolveDefault() {
+        return bankConfigService.getSnapshot(tenantResolver.resolve(byDefault));
+    }
+
+    @Benchmark
+    public BankConfigService.Snapshot refresh() {
+        bankConfigService.refresh();
+        return bankConfigService.getSnapshot(bankConfigService.getDefaultTenant());
+    }
+
+    private static BankProperties.CurrencyProperties currency(String code, int decimalPlaces) {
+        BankProperties.CurrencyProperties currency = new BankProperties.CurrencyProperties();
+        currency.setCode(code);
+        currency.setDecimalPlaces(decimalPlaces);
+        return currency;
+    }
+
+    private static BankConfiguration configuration(String tenantId, String bankName, String hostNames) {
+        return BankConfiguration.builder()
+                .tenantId(tenantId)
+                .bankName(bankName)
+                .hostNames(hostNames)
+                .logoUrl("/assets/logo.png")
+                .defaultLanguage("en")
+                .defaultCurrency("USD")
+                .currencyDecimalPlaces(2)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,195 @@
+package com.app.login.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import ch.qos.logback.classic.Level;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.app.common.util.JwtUtil;
+import com.app.login.cache.PrincipalCache;
+import com.app.login.cache.VerifiedTokenCache;
+import com.app.login.config.JwtAuthenticationFilter;
+import com.app.login.metrics.AuthMetrics;
+import com.app.login.security.RevokedTokenIndex;
+import com.app.login.service.CustomUserDetailsService;
+import com.app.login.service.SessionActivityTracker;
+
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Steady-state cost of authenticating a request with a bearer token: the
+ * current JwtAuthenticationFilter (verified-token and principal caches)
+ * against the baseline filter, which parsed and verified the JWT three times
+ * per request (extractUsername, validateToken, extractRoles), loaded the
+ * principal on every request, streamed the roles into authorities and built
+ * a new details source each time. Both use the real JwtUtil built from the
+ * service's jwt.* properties and a token it signed. The principal load is a
+ * stub for both, so the baseline's per-request user query is not included
+ * here; UserDetailsServiceBenchmark measures that.
+ *
+ * Run with the GC profiler to compare allocations per request:
+ *   java -jar benchmarks.jar JwtAuthenticationFilterBenchmark -prof gc
+ * and read gc.alloc.rate.norm (bytes per operation). The metricsEnabled
+ * parameter shows what the filter's timers add on top.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+    private static final String SECRET = "mySecretKeyForCredexaApplicationMustBe256BitsLongForHS256AlgorithmToWorkProperly";
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private AnnotationConfigApplicationContext context;
+    private JwtAuthenticationFilter filter;
+    private BaselineJwtAuthenticationFilter baselineFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Production log level: DEBUG lines must cost nothing on this path
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.app.login")).setLevel(Level.INFO);
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("jwt",
+                Map.of("jwt.secret", SECRET, "jwt.expiration", "3600000")));
+        context.register(JwtUtil.class);
+        context.refresh();
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_USER", "ROLE_REPORT_VIEWER"));
+
+        UserDetails alice = User.withUsername("alice").password("{noop}x").authorities("ROLE_USER").build();
+        CustomUserDetailsService userDetailsService = Mockito.mock(CustomUserDetailsService.class);
+        Mockito.when(userDetailsService.loadUserByUsername("alice")).thenReturn(alice);
+
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(
+                jwtUtil, new RevokedTokenIndex(jdbcTemplate, 3_600_000), true, 1000, 3_600_000);
+        PrincipalCache principalCache = new PrincipalCache(userDetailsService, true, 1000, 3_600_000);
+        SessionActivityTracker activityTracker = new SessionActivityTracker(jdbcTemplate, 300_000);
+
+        AuthMetrics metrics = new AuthMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), metricsEnabled, true);
+        filter = new JwtAuthenticationFilter(tokenCache, principalCache, activityTracker, metrics);
+        baselineFilter = new BaselineJwtAuthenticationFilter(jwtUtil, userDetailsService);
+
+        request = new MockHttpServletRequest("GET", "/api/auth/bank-config");
+        request.addHeader("Authorization", "Bearer " + token);
+        request.setRemoteAddr("10.0.0.1");
+        response = new MockHttpServletResponse();
+
+        // Warm the current filter's caches so every invocation takes the steady-state path
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object current() throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return clearAuthentication();
+    }
+
+    @Benchmark
+    public Object baseline() throws Exception {
+        baselineFilter.doFilter(request, response, NO_OP_CHAIN);
+        return clearAuthentication();
+    }
+
+    private static Object clearAuthentication() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    /**
+     * The filter's request path as of the baseline, kept for comparison
+     */
+    static final class BaselineJwtAuthenticationFilter extends OncePerRequestFilter {
+
+        private static final Logger log = LoggerFactory.getLogger(BaselineJwtAuthenticationFilter.class);
+
+        private final JwtUtil jwtUtil;
+        private final CustomUserDetailsService userDetailsService;
+
+        BaselineJwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+            this.jwtUtil = jwtUtil;
+            this.userDetailsService = userDetailsService;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            try {
+                String authHeader = request.getHeader("Authorization");
+                if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                    String token = authHeader.substring(7);
+                    String username = jwtUtil.extractUsername(token);
+                    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                        if (jwtUtil.validateToken(token, username)) {
+                            List<String> roles = jwtUtil.extractRoles(token);
+                            List<SimpleGrantedAuthority> authorities = roles.stream()
+                                    .map(SimpleGrantedAuthority::new)
+                                    .collect(Collectors.toList());
+                            UsernamePasswordAuthenticationToken authToken =
+                                    new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+                            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                            SecurityContextHolder.getContext().setAuthentication(authToken);
+                            log.debug("JWT authentication successful for user: {}", username);
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Cannot set user authentication", e);
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.app.login.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.common.util.JwtUtil;
+import com.app.login.cache.VerifiedTokenCache;
+import com.app.login.security.RevokedTokenIndex;
+
+/**
+ * Token issue and verification through the shared JwtUtil (HS256), against
+ * the VerifiedTokenCache hit that the filter takes for a token it has seen.
+ * JwtUtil is built by Spring from the same jwt.* properties the service uses,
+ * so the numbers follow whatever signing setup the common library ships.
+ *   java -jar benchmarks.jar JwtUtilBenchmark -prof gc
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "mySecretKeyForCredexaApplicationMustBe256BitsLongForHS256AlgorithmToWorkProperly";
+    private static final List<String> ROLES = List.of("ROLE_USER", "ROLE_REPORT_VIEWER");
+
+    private AnnotationConfigApplicationContext context;
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache tokenCache;
+    private VerifiedTokenCache uncachedTokenCache;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("jwt",
+                Map.of("jwt.secret", SECRET, "jwt.expiration", "3600000")));
+        context.register(JwtUtil.class);
+        context.refresh();
+        jwtUtil = context.getBean(JwtUtil.class);
+
+        RevokedTokenIndex revokedTokens = new RevokedTokenIndex(Mockito.mock(JdbcTemplate.class), 3_600_000);
+        tokenCache = new VerifiedTokenCache(jwtUtil, revokedTokens, true, 1000, 3_600_000);
+        uncachedTokenCache = new VerifiedTokenCache(jwtUtil, revokedTokens, false, 1000, 3_600_000);
+        token = jwtUtil.generateToken("alice", ROLES);
+        tokenCache.verify(token);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("alice", ROLES);
+    }
+
+    @Benchmark
+    public Object validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public List<String> extractRoles() {
+        return jwtUtil.extractRoles(token);
+    }
+
+    /**
+     * Full verification as the filter does it on a cache miss
+     */
+    @Benchmark
+    public Object verifyUncached() {
+        return uncachedTokenCache.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return tokenCache.verify(token);
+    }
+}
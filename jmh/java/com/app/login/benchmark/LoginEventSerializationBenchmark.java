@@ -0,0 +1,82 @@
+package com.app.login.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.login.event.LoginEvent;
+import com.app.login.event.LoginEventDeserializer;
+import com.app.login.event.LoginEventSerializer;
+
+/**
+ * Bytes per event and serialization cost of LoginEvent as JSON (the previous
+ * Spring JsonSerializer output) versus the protobuf encoding. Event sizes are
+ * printed during setup; ns/op comes from the benchmarks, and -prof gc shows
+ * allocation per event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginEventSerializationBenchmark {
+
+    private static final String TOPIC = "login-events";
+
+    @Param({"json", "protobuf"})
+    public String format;
+
+    private LoginEventSerializer serializer;
+    private LoginEventDeserializer deserializer;
+    private LoginEvent event;
+    private byte[] encoded;
+    private RecordHeaders encodedHeaders;
+
+    @Setup
+    public void setUp() {
+        serializer = new LoginEventSerializer();
+        serializer.configure(Map.of(LoginEventSerializer.FORMAT_CONFIG, format), false);
+        deserializer = new LoginEventDeserializer();
+
+        event = LoginEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .username("alice.fernandes")
+                .email("alice.fernandes@example.com")
+                .userId(1_048_576L)
+                .eventType("LOGIN_SUCCESS")
+                .eventTime(LocalDateTime.now())
+                .ipAddress("203.0.113.42")
+                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+                        + "(KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36")
+                .build();
+
+        encodedHeaders = new RecordHeaders();
+        encoded = serializer.serialize(TOPIC, encodedHeaders, event);
+        System.out.printf("%n%s: %d bytes per event%n", format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public LoginEvent deserialize() {
+        return deserializer.deserialize(TOPIC, encodedHeaders, encoded);
+    }
+}
@@ -0,0 +1,186 @@
+package com.app.login.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.login.entity.Role;
+import com.app.login.entity.User;
+import com.app.login.repository.RoleRepository;
+import com.app.login.repository.UserRepository;
+
+/**
+ * Login lookup latency through the real UserRepository queries over a seeded
+ * users table: the baseline's derived three-way OR across
+ * username/email/mobile_number (roles loaded eagerly by a second select)
+ * versus the single-index fetch-join queries AuthService routes to, and an
+ * email-shaped miss with and without the username fallback login used to do.
+ * Only the JPA slice of the application is started, with the schema
+ * generated from the entities and dropped again at the end.
+ *
+ * Runs against in-memory H2 in MySQL mode by default. To measure a real
+ * MySQL, pass -p jdbcUrl=jdbc:mysql://host/login_lookup_bench (with user and
+ * password): the schema is created and dropped, so the database name must end
+ * in _bench and must never be the service's own.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginLookupBenchmark {
+
+    private static final String THROWAWAY_SUFFIX = "_bench";
+
+    @Param({"1000000"})
+    public int users;
+
+    @Param({"jdbc:h2:mem:login_lookup_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!databaseName(jdbcUrl).endsWith(THROWAWAY_SUFFIX)) {
+            throw new IllegalArgumentException("LoginLookupBenchmark creates and drops the users tables; "
+                    + "point jdbcUrl at a throwaway database whose name ends in " + THROWAWAY_SUFFIX);
+        }
+        context = new SpringApplicationBuilder(JpaSlice.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=jmh",
+                        "--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + user,
+                        "--spring.datasource.password=" + password,
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.open-in-view=false",
+                        "--logging.level.root=WARN");
+        userRepository = context.getBean(UserRepository.class);
+        seed(context.getBean(RoleRepository.class), context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> baselineOrAcrossThreeColumnsByEmail() {
+        String email = randomEmail();
+        return userRepository.findByUsernameOrEmailOrMobileNumber(email, email, email);
+    }
+
+    @Benchmark
+    public Optional<User> singleIndexByEmail() {
+        return userRepository.findWithRolesByEmail(randomEmail());
+    }
+
+    @Benchmark
+    public Optional<User> singleIndexByUsername() {
+        return userRepository.findWithRolesByUsername("user" + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    public Optional<User> emailMissWithUsernameFallback() {
+        String email = missingEmail();
+        Optional<User> found = userRepository.findWithRolesByEmail(email);
+        return found.isPresent() ? found : userRepository.findWithRolesByUsername(email);
+    }
+
+    @Benchmark
+    public Optional<User> emailMiss() {
+        return userRepository.findWithRolesByEmail(missingEmail());
+    }
+
+    private String randomEmail() {
+        return "user" + ThreadLocalRandom.current().nextInt(users) + "@bench.example";
+    }
+
+    private String missingEmail() {
+        return "nobody" + ThreadLocalRandom.current().nextInt(users) + "@bench.example";
+    }
+
+    /**
+     * Database or schema name in a JDBC URL, e.g. login_lookup_bench in
+     * jdbc:mysql://host:3306/login_lookup_bench?useSSL=false or jdbc:h2:mem:login_lookup_bench;MODE=MySQL
+     */
+    static String databaseName(String url) {
+        String path = url.startsWith("jdbc:h2:")
+                ? url.substring(url.lastIndexOf(':') + 1)
+                : url.substring(url.lastIndexOf('/') + 1);
+        int end = path.length();
+        for (char separator : new char[] {'?', ';'}) {
+            int index = path.indexOf(separator);
+            if (index >= 0) {
+                end = Math.min(end, index);
+            }
+        }
+        return path.substring(0, end);
+    }
+
+    private void seed(RoleRepository roleRepository, JdbcTemplate jdbcTemplate) {
+        Long roleId = roleRepository.save(Role.builder().name(Role.RoleName.ROLE_USER).build()).getId();
+
+        // Plain JDBC batches: IDENTITY ids would make Hibernate insert a million users one by one
+        List<Object[]> userRows = new ArrayList<>(10_000);
+        List<Object[]> roleRows = new ArrayList<>(10_000);
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[] {i + 1L, "user" + i, "user" + i + "@bench.example",
+                    String.valueOf(7_000_000_000L + i)});
+            roleRows.add(new Object[] {i + 1L, roleId});
+            if (userRows.size() == 10_000 || i == users - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password, email, mobile_number, active, "
+                        + "account_locked, failed_login_attempts) VALUES (?, ?, "
+                        + "'{bcrypt}$2a$12$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm', ?, ?, true, false, 0)",
+                        userRows);
+                jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", roleRows);
+                userRows.clear();
+                roleRows.clear();
+            }
+        }
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class JpaSlice {
+    }
+}
@@ -0,0 +1,85 @@
+package com.app.login.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.login.exception.LoginThrottledException;
+import com.app.login.security.LoginThrottle;
+
+/**
+ * Credential-stuffing spray against LoginThrottle at full speed from many threads.
+ *
+ * spray: a botnet of 256 IPs cycles through a million identifiers, so it must
+ * be stopped by the per-IP limit. targeted: rotating IPs hammer one victim
+ * account, stopped by the per-identifier limit. legitimate: distinct users
+ * log in once each from distinct IPs and should essentially never be
+ * rejected.
+ *
+ * JMH forks each scenario separately, so the scenarios never share a throttle
+ * and this only measures throughput. The allowed/rejected aux counters give
+ * each scenario's admission ratio on its own; LoginThrottleTest asserts that
+ * legitimate logins get through while a spray hits the same instance.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoginThrottleBenchmark {
+
+    private LoginThrottle throttle;
+
+    @Setup
+    public void setUp() {
+        throttle = new LoginThrottle(true, 60_000, 60, 10, 4, 65536);
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcome {
+        public long allowed;
+        public long rejected;
+    }
+
+    @Benchmark
+    public void spray(Outcome outcome) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        attempt("198.51.100." + random.nextInt(256), "user" + random.nextInt(1_000_000), outcome);
+    }
+
+    @Benchmark
+    public void targeted(Outcome outcome) {
+        attempt("203.0.113." + ThreadLocalRandom.current().nextInt(256), "victim@example.com", outcome);
+    }
+
+    @Benchmark
+    public void legitimate(Outcome outcome) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        attempt("10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256),
+                "customer" + random.nextLong(), outcome);
+    }
+
+    private void attempt(String ip, String identifier, Outcome outcome) {
+        try {
+            throttle.check(ip, identifier);
+            outcome.allowed++;
+        } catch (LoginThrottledException e) {
+            outcome.rejected++;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.app.login.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.app.login.security.PasswordHashPolicy;
+
+/**
+ * Per-login CPU cost of password verification under different hashing policies.
+ * Use the matches() latency to pick security.password.bcrypt-strength (or the
+ * argon2 parameters) against the login latency budget.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "Correct-Horse-Battery-9";
+
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "bcrypt:13", "argon2:16384"})
+    public String policy;
+
+    private PasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        String[] parts = policy.split(":");
+        int cost = Integer.parseInt(parts[1]);
+        PasswordHashPolicy hashPolicy = PasswordHashPolicy.BCRYPT.equals(parts[0])
+                ? new PasswordHashPolicy(PasswordHashPolicy.BCRYPT, cost, 16384, 2, 1)
+                : new PasswordHashPolicy(PasswordHashPolicy.ARGON2, 12, cost, 2, 1);
+        encoder = hashPolicy.createEncoder();
+        encoded = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(PASSWORD, encoded);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+}
@@ -0,0 +1,133 @@
+package com.app.login.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.app.login.cache.PrincipalCache;
+import com.app.login.entity.Role;
+import com.app.login.entity.User;
+import com.app.login.repository.RoleRepository;
+import com.app.login.repository.UserRepository;
+import com.app.login.service.CustomUserDetailsService;
+
+/**
+ * CustomUserDetailsService.loadUserByUsername over JPA on in-memory H2 in
+ * MySQL mode: the user + roles lookup the filter pays on a principal cache
+ * miss, next to the PrincipalCache hit it pays otherwise. Only the JPA slice
+ * of the application is started, with the schema generated from the entities.
+ *   java -jar benchmarks.jar UserDetailsServiceBenchmark -prof gc
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDetailsServiceBenchmark {
+
+    @Param({"10000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private CustomUserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JpaSlice.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=jmh",
+                        "--spring.datasource.url=jdbc:h2:mem:user_details_bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.open-in-view=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                        "--logging.level.root=WARN");
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+        seed(context.getBean(RoleRepository.class), context.getBean(UserRepository.class));
+
+        principalCache = new PrincipalCache(userDetailsService, true, users, 3_600_000);
+        for (int i = 0; i < users; i++) {
+            principalCache.loadUserByUsername("user" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(randomUsername());
+    }
+
+    @Benchmark
+    public UserDetails principalCacheHit() {
+        return principalCache.loadUserByUsername(randomUsername());
+    }
+
+    private String randomUsername() {
+        return "user" + ThreadLocalRandom.current().nextInt(users);
+    }
+
+    private void seed(RoleRepository roleRepository, UserRepository userRepository) {
+        Role userRole = roleRepository.save(Role.builder().name(Role.RoleName.ROLE_USER).build());
+        Role viewerRole = roleRepository.save(Role.builder().name(Role.RoleName.ROLE_REPORT_VIEWER).build());
+
+        List<User> batch = new ArrayList<>(1000);
+        for (int i = 0; i < users; i++) {
+            batch.add(User.builder()
+                    .username("user" + i)
+                    .password("{bcrypt}$2a$12$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm")
+                    .email("user" + i + "@bench.example")
+                    .mobileNumber(String.valueOf(7_000_000_000L + i))
+                    .active(true)
+                    .roles(new HashSet<>(i % 10 == 0 ? List.of(userRole, viewerRole) : List.of(userRole)))
+                    .build());
+            if (batch.size() == 1000) {
+                userRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        userRepository.saveAll(batch);
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    @Import(CustomUserDetailsService.class)
+    static class JpaSlice {
+    }
+}
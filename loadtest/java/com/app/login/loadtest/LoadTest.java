@@ -0,0 +1,173 @@
+package com.app.login.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import com.app.login.LoginServiceApplication;
+import com.app.login.dto.RegisterRequest;
+import com.app.login.exception.HashingCapacityExceededException;
+import com.app.login.service.AuthService;
+
+/**
+ * End-to-end load harness for the login service, runnable offline on one box.
+ * It boots the service in-process with the loadtest profile (in-memory H2 in
+ * MySQL mode, random port) and seeds users through AuthService.register. It
+ * then logs every user in once to fill the token pool and drives a mixed
+ * open-model workload over HTTP: a warmup phase that is discarded, then a
+ * measured phase reported as p50/p99/p99.9 per operation.
+ *
+ *   java -cp <service classpath + loadtest classes + HdrHistogram + h2> com.app.login.loadtest.LoadTest \
+ *       --users=2000 --rate=500 --warmup=15 --duration=60 \
+ *       --mix=login:10,validate_token:40,authenticated_request:45,logout:5
+ *
+ * All arguments are also passed to the service, so any of its properties can
+ * be overridden the same way, e.g. --security.password.bcrypt-strength=12.
+ * Rates are offered load; arrivals beyond --max-in-flight are shed and reported.
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "Load-Test-Passw0rd";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "2000"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "500"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Duration reportInterval = Duration.ofSeconds(Long.parseLong(options.getOrDefault("report-interval", "5")));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        int clientThreads = Integer.parseInt(options.getOrDefault("client-threads",
+                String.valueOf(Math.max(4, Runtime.getRuntime().availableProcessors()))));
+        Map<TrafficMix.Operation, Integer> weights = TrafficMix.parseWeights(options.getOrDefault("mix",
+                "login:10,validate_token:40,authenticated_request:45,logout:5"));
+
+        ConfigurableApplicationContext service = new SpringApplicationBuilder(LoginServiceApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(clientThreads);
+        try {
+            Environment environment = service.getEnvironment();
+            String baseUrl = "http://127.0.0.1:" + environment.getRequiredProperty("local.server.port")
+                    + environment.getProperty("server.servlet.context-path", "");
+
+            seedUsers(service.getBean(AuthService.class), users);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            TrafficMix traffic = new TrafficMix(client, baseUrl, users, PASSWORD, weights);
+            logInAll(traffic, users);
+
+            OpenModelDriver driver = new OpenModelDriver(traffic, rate, maxInFlight, System.out);
+            System.out.printf("Warming up for %d s at %.0f req/s%n", warmup.toSeconds(), rate);
+            driver.run("warmup", warmup, reportInterval);
+            System.out.printf("Measuring for %d s at %.0f req/s%n", duration.toSeconds(), rate);
+            driver.run("measure", duration, reportInterval).print(System.out, rate);
+        } finally {
+            clientExecutor.shutdownNow();
+            service.close();
+        }
+    }
+
+    /**
+     * Register users through the service itself, so passwords are hashed with the configured policy
+     */
+    private static void seedUsers(AuthService authService, int users) throws InterruptedException {
+        long started = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService seeders = Executors.newFixedThreadPool(threads);
+        AtomicInteger next = new AtomicInteger();
+        LongAdder failed = new LongAdder();
+        for (int t = 0; t < threads; t++) {
+            seeders.execute(() -> {
+                for (int user = next.getAndIncrement(); user < users; user = next.getAndIncrement()) {
+                    if (!register(authService, user)) {
+                        failed.increment();
+                    }
+                }
+            });
+        }
+        seeders.shutdown();
+        seeders.awaitTermination(1, TimeUnit.HOURS);
+        System.out.printf("Seeded %d users in %.1f s (%d failed)%n",
+                users - failed.sum(), (System.nanoTime() - started) / 1e9, failed.sum());
+    }
+
+    private static boolean register(AuthService authService, int user) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(TrafficMix.username(user));
+        request.setPassword(PASSWORD);
+        request.setEmail(TrafficMix.username(user) + "@load.example");
+        request.setMobileNumber(String.valueOf(9_000_000_000L + user));
+        for (int attempt = 0; attempt < 10; attempt++) {
+            try {
+                authService.register(request);
+                return true;
+            } catch (HashingCapacityExceededException e) {
+                // The hashing queue is shared with the service; back off and retry
+                sleepQuietly(50L << Math.min(attempt, 5));
+            } catch (RuntimeException e) {
+                System.err.printf("Could not register %s: %s%n", request.getUsername(), e.getMessage());
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Log every user in once, closed-loop and unmeasured, so token traffic has tokens to use
+     */
+    private static void logInAll(TrafficMix traffic, int users) throws InterruptedException {
+        long started = System.nanoTime();
+        Semaphore permits = new Semaphore(64);
+        LongAdder failed = new LongAdder();
+        for (int user = 0; user < users; user++) {
+            permits.acquire();
+            traffic.login(user).whenComplete((ok, failure) -> {
+                if (failure != null || !Boolean.TRUE.equals(ok)) {
+                    failed.increment();
+                }
+                permits.release();
+            });
+        }
+        permits.acquire(64);
+        System.out.printf("Logged in %d users in %.1f s (%d failed)%n",
+                users - failed.sum(), (System.nanoTime() - started) / 1e9, failed.sum());
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int split = arg.indexOf('=');
+                options.put(arg.substring(2, split), arg.substring(split + 1));
+            }
+        }
+        return options;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.app.login.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.app.login.loadtest.TrafficMix.Operation;
+
+/**
+ * Open-model load: requests arrive on a fixed schedule at the target rate
+ * whether or not earlier ones have completed, as real clients do during a
+ * login storm. Latency is measured from each request's scheduled start, not
+ * from when it was actually sent, so a stalled service or a stalled
+ * dispatcher shows up as latency instead of silently lowering the offered
+ * load (coordinated omission).
+ */
+final class OpenModelDriver {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final TrafficMix traffic;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final PrintStream out;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder shed = new LongAdder();
+
+    OpenModelDriver(TrafficMix traffic, double ratePerSecond, int maxInFlight, PrintStream out) {
+        this.traffic = traffic;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.out = out;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Offer load for the given duration, printing a progress line every reportInterval
+     */
+    Result run(String phase, Duration duration, Duration reportInterval) {
+        Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.get(operation).reset();
+            errors.get(operation).reset();
+            totals.put(operation, new Histogram(HIGHEST_TRACKABLE_NANOS, 3));
+        }
+        shed.reset();
+
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long nextReport = start + reportInterval.toNanos();
+        long lastReport = start;
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            if (inFlight.get() >= maxInFlight) {
+                shed.increment();
+            } else {
+                dispatch(traffic.next(), intended);
+            }
+
+            long now = System.nanoTime();
+            if (now >= nextReport) {
+                report(phase, totals, now - lastReport);
+                lastReport = now;
+                nextReport += reportInterval.toNanos();
+            }
+        }
+
+        awaitInFlight(Duration.ofSeconds(30));
+        long elapsed = System.nanoTime() - start;
+        report(phase, totals, System.nanoTime() - lastReport);
+
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        errors.forEach((operation, count) -> errorCounts.put(operation, count.sum()));
+        return new Result(totals, errorCounts, shed.sum(), elapsed);
+    }
+
+    private void dispatch(Operation operation, long intendedStartNanos) {
+        inFlight.incrementAndGet();
+        traffic.execute(operation).whenComplete((ok, failure) -> {
+            long latency = System.nanoTime() - intendedStartNanos;
+            recorders.get(operation).recordValue(Math.min(latency, HIGHEST_TRACKABLE_NANOS));
+            if (failure != null || !Boolean.TRUE.equals(ok)) {
+                errors.get(operation).increment();
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private void awaitInFlight(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            out.printf("%d requests still in flight after %d s; they are not counted%n",
+                    inFlight.get(), timeout.toSeconds());
+        }
+    }
+
+    /**
+     * Fold each operation's interval histogram into its total and print one progress line
+     */
+    private void report(String phase, Map<Operation, Histogram> totals, long intervalNanos) {
+        StringBuilder line = new StringBuilder(String.format("[%s]", phase));
+        long completed = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram interval = recorders.get(operation).getIntervalHistogram();
+            totals.get(operation).add(interval);
+            completed += interval.getTotalCount();
+            if (interval.getTotalCount() > 0) {
+                line.append(String.format(" %s p99=%.1fms", operation.label(),
+                        interval.getValueAtPercentile(99.0) / 1e6));
+            }
+        }
+        double seconds = intervalNanos / 1e9;
+        line.append(String.format(" | %.0f req/s completed, %d in flight", completed / seconds, inFlight.get()));
+        out.println(line);
+    }
+
+    static final class Result {
+        private final Map<Operation, Histogram> histograms;
+        private final Map<Operation, Long> errors;
+        private final long shed;
+        private final long elapsedNanos;
+
+        Result(Map<Operation, Histogram> histograms, Map<Operation, Long> errors, long shed, long elapsedNanos) {
+            this.histograms = histograms;
+            this.errors = errors;
+            this.shed = shed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        void print(PrintStream out, double targetRate) {
+            out.printf("%n%-22s %10s %8s %10s %10s %10s %10s%n",
+                    "operation", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+            Histogram all = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            long errorTotal = 0;
+            for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+                Histogram histogram = entry.getValue();
+                long operationErrors = errors.get(entry.getKey());
+                if (histogram.getTotalCount() == 0 && operationErrors == 0) {
+                    continue;
+                }
+                printRow(out, entry.getKey().label(), histogram, operationErrors);
+                all.add(histogram);
+                errorTotal += operationErrors;
+            }
+            printRow(out, "all", all, errorTotal);
+
+            double seconds = elapsedNanos / 1e9;
+            out.printf("%nOffered %.0f req/s, completed %.0f req/s over %.1f s; %d arrivals shed at the in-flight cap%n",
+                    targetRate, all.getTotalCount() / seconds, seconds, shed);
+            if (shed > 0) {
+                out.println("Shed arrivals were never sent: the service could not keep up and the percentiles above are optimistic.");
+            }
+        }
+
+        private static void printRow(PrintStream out, String label, Histogram histogram, long errors) {
+            out.printf("%-22s %10d %8d %10.2f %10.2f %10.2f %10.2f%n", label, histogram.getTotalCount(), errors,
+                    histogram.getValueAtPercentile(50.0) / 1e6, histogram.getValueAtPercentile(99.0) / 1e6,
+                    histogram.getValueAtPercentile(99.9) / 1e6, histogram.getMaxValue() / 1e6);
+        }
+    }
+}
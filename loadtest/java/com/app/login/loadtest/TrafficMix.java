@@ -0,0 +1,193 @@
+package com.app.login.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The requests the harness sends and the weights they are mixed in.
+ * Every seeded user has one token slot: a login fills the user's slot, a
+ * logout empties it, and token validation and authenticated requests use the
+ * token of a random user that currently has one.
+ */
+final class TrafficMix {
+
+    enum Operation {
+        LOGIN, VALIDATE_TOKEN, AUTHENTICATED_REQUEST, LOGOUT;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final int TOKEN_PROBES = 8;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int users;
+    private final String password;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicReferenceArray<String> tokens;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    TrafficMix(HttpClient client, String baseUrl, int users, String password, Map<Operation, Integer> weights) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.password = password;
+        this.tokens = new AtomicReferenceArray<>(users);
+
+        EnumMap<Operation, Integer> positive = new EnumMap<>(Operation.class);
+        weights.forEach((operation, weight) -> {
+            if (weight > 0) {
+                positive.put(operation, weight);
+            }
+        });
+        if (positive.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix needs at least one positive weight");
+        }
+        this.operations = positive.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += positive.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Parse a mix such as "login:10,validate_token:40,authenticated_request:45,logout:5"
+     */
+    static Map<Operation, Integer> parseWeights(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    static String username(int user) {
+        return "load" + user;
+    }
+
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Send one request; completes with whether the service answered as expected
+     */
+    CompletableFuture<Boolean> execute(Operation operation) {
+        return switch (operation) {
+            case LOGIN -> login(ThreadLocalRandom.current().nextInt(users));
+            case VALIDATE_TOKEN -> validateToken();
+            case AUTHENTICATED_REQUEST -> authenticatedRequest();
+            case LOGOUT -> logout();
+        };
+    }
+
+    CompletableFuture<Boolean> login(int user) {
+        String body = "{\"usernameOrEmailOrMobile\":\"" + username(user) + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = request("/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            try {
+                String token = objectMapper.readTree(response.body()).path("data").path("token").asText(null);
+                if (token == null) {
+                    return false;
+                }
+                tokens.set(user, token);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        });
+    }
+
+    private CompletableFuture<Boolean> validateToken() {
+        String token = anyToken(false);
+        if (token == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        HttpRequest request = request("/validate-token")
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(token))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> response.statusCode() == 200 && response.body().contains("\"valid\":true"));
+    }
+
+    /**
+     * A cheap endpoint behind the JWT filter, so the cost is the filter's
+     */
+    private CompletableFuture<Boolean> authenticatedRequest() {
+        String token = anyToken(false);
+        if (token == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        HttpRequest request = request("/bank-config")
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() == 200);
+    }
+
+    private CompletableFuture<Boolean> logout() {
+        String token = anyToken(true);
+        if (token == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        HttpRequest request = request("/logout")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() == 200);
+    }
+
+    /**
+     * The token of a random logged-in user, taken out of its slot when it is about to be logged out
+     */
+    private String anyToken(boolean take) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < TOKEN_PROBES; i++) {
+            int user = random.nextInt(users);
+            String token = take ? tokens.getAndSet(user, null) : tokens.get(user);
+            if (token != null) {
+                return token;
+            }
+        }
+        return null;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,168 @@
+package com.app.login.audit;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Monthly range partitioning and retention for audit_logs.
+ * The table is converted to PARTITION BY RANGE COLUMNS(event_time) offline by
+ * db/audit_logs_partitioning.sql, since that rebuilds the table. Once it is
+ * partitioned, a daily job splits the empty catch-all pmax so partitions
+ * exist a few months ahead, and drops whole partitions once they fall out of
+ * the retention window, which is a metadata operation rather than a DELETE.
+ * The job holds a MySQL named lock so only one instance alters the table.
+ * Unpartitioned tables and other databases fall back to chunked deletes.
+ */
+@Component
+@Slf4j
+public class AuditLogPartitionManager {
+
+    private static final String TABLE = "audit_logs";
+    private static final String CATCH_ALL = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final int DELETE_CHUNK_SIZE = 10_000;
+    private static final String LOCK_NAME = "login-service.audit_logs.partitions";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public AuditLogPartitionManager(JdbcTemplate jdbcTemplate,
+                                    @Value("${audit.partitioning.enabled:true}") boolean enabled,
+                                    @Value("${audit.partitioning.months-ahead:3}") int monthsAhead,
+                                    @Value("${audit.retention-months:12}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Create upcoming monthly partitions and drop (or delete) data past retention
+     */
+    @Scheduled(cron = "${audit.partitioning.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        if (!enabled || !isMySql()) {
+            deleteExpiredRows(jdbcTemplate, cutoff);
+            return;
+        }
+        // Partition DDL and its re-check run on one connection that holds the named lock
+        jdbcTemplate.execute((Connection connection) -> {
+            JdbcTemplate locked = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer acquired = locked.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (acquired == null || acquired != 1) {
+                log.debug("Another instance is maintaining {} partitions", TABLE);
+                return null;
+            }
+            try {
+                if (listPartitions(locked).isEmpty()) {
+                    log.info("{} is not partitioned (see db/audit_logs_partitioning.sql); using chunked deletes", TABLE);
+                    deleteExpiredRows(locked, cutoff);
+                } else {
+                    addUpcomingPartitions(locked);
+                    dropExpiredPartitions(locked, cutoff);
+                }
+            } finally {
+                locked.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Split pmax into the missing months; pmax is empty while partitions exist ahead of now
+     */
+    private void addUpcomingPartitions(JdbcTemplate jdbc) {
+        List<YearMonth> existing = monthlyPartitions(jdbc);
+        YearMonth last = existing.isEmpty() ? YearMonth.now().minusMonths(1) : existing.get(existing.size() - 1);
+
+        List<String> added = new ArrayList<>();
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(YearMonth.now().plusMonths(monthsAhead));
+             month = month.plusMonths(1)) {
+            added.add(partitionDefinition(month));
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        added.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE)");
+        jdbc.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + CATCH_ALL + " INTO ("
+                + String.join(", ", added) + ")");
+        log.info("Added {} monthly partitions to {}", added.size() - 1, TABLE);
+    }
+
+    private void dropExpiredPartitions(JdbcTemplate jdbc, YearMonth cutoff) {
+        List<YearMonth> months = monthlyPartitions(jdbc);
+        List<String> expired = new ArrayList<>();
+        // Always keep at least one monthly partition so the table stays partitioned
+        for (int i = 0; i < months.size() - 1; i++) {
+            if (months.get(i).isBefore(cutoff)) {
+                expired.add(months.get(i).format(PARTITION_NAME));
+            }
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        jdbc.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", expired));
+        log.info("Dropped expired {} partitions {}", TABLE, expired);
+    }
+
+    private void deleteExpiredRows(JdbcTemplate jdbc, YearMonth cutoff) {
+        Timestamp before = Timestamp.valueOf(cutoff.atDay(1).atStartOfDay());
+        int deleted;
+        long total = 0;
+        do {
+            deleted = jdbc.update("DELETE FROM " + TABLE + " WHERE event_time < ? LIMIT " + DELETE_CHUNK_SIZE, before);
+            total += deleted;
+        } while (deleted == DELETE_CHUNK_SIZE);
+        if (total > 0) {
+            log.info("Deleted {} audit log rows older than {}", total, before);
+        }
+    }
+
+    private String partitionDefinition(YearMonth month) {
+        LocalDate upperBound = month.plusMonths(1).atDay(1);
+        return "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('" + upperBound + " 00:00:00')";
+    }
+
+    /**
+     * Monthly partitions in ascending order, excluding the catch-all
+     */
+    private List<YearMonth> monthlyPartitions(JdbcTemplate jdbc) {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : listPartitions(jdbc)) {
+            if (!CATCH_ALL.equalsIgnoreCase(name)) {
+                months.add(YearMonth.parse(name.toLowerCase(Locale.ROOT), PARTITION_NAME));
+            }
+        }
+        months.sort(null);
+        return months;
+    }
+
+    private List<String> listPartitions(JdbcTemplate jdbc) {
+        return jdbc.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                        + "ORDER BY PARTITION_ORDINAL_POSITION", String.class, TABLE);
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
@@ -0,0 +1,233 @@
+package com.app.login.audit;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.login.entity.AuditLog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous audit log writer.
+ * Audit events are queued in memory and written to audit_logs by a single
+ * background thread using JDBC batch inserts, so request threads never wait
+ * on an audit insert. A batch is flushed when it reaches the configured size
+ * or when its oldest event has waited for the flush interval. Remaining
+ * events are flushed on shutdown. A batch that fails is rolled back and
+ * retried one event at a time, so one bad event cannot take the rest with it.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (username, event_type, success, message, ip_address, user_agent, event_time) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // Default VARCHAR length of audit_logs.username; login failures record the raw identifier
+    private static final int USERNAME_LENGTH = 255;
+
+    /**
+     * What to do with a new event when the queue is full
+     */
+    public enum BackpressurePolicy {
+        /** Wait up to the configured block timeout for space, then drop */
+        BLOCK,
+        /** Drop the new event immediately */
+        DROP,
+        /** Write the event synchronously on the calling thread, in its own transaction */
+        CALLER_RUNS
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final BackpressurePolicy backpressurePolicy;
+    private final long blockTimeoutMillis;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          @Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.writer.batch-size:200}") int batchSize,
+                          @Value("${audit.writer.flush-interval:1000}") long flushIntervalMillis,
+                          @Value("${audit.writer.backpressure:BLOCK}") BackpressurePolicy backpressurePolicy,
+                          @Value("${audit.writer.block-timeout:50}") long blockTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Caller-runs writes may come from inside a transaction, or from its afterCommit callback
+        // where the connection is still bound but no longer committed: never write on that connection
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.backpressurePolicy = backpressurePolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Audit log writer started (batch size {}, flush interval {} ms, backpressure {})",
+                batchSize, flushIntervalMillis, backpressurePolicy);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Anything the worker did not get to is flushed on the shutdown thread
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize) {
+            writeBatch(remaining.subList(i, Math.min(i + batchSize, remaining.size())));
+        }
+        log.info("Audit log writer stopped ({} written, {} dropped, {} failed)",
+                written.sum(), dropped.sum(), failed.sum());
+    }
+
+    /**
+     * Queue an audit event for writing
+     */
+    public void submit(AuditLog auditLog) {
+        if (auditLog.getEventTime() == null) {
+            auditLog.setEventTime(LocalDateTime.now());
+        }
+        if (queue.offer(auditLog)) {
+            return;
+        }
+
+        switch (backpressurePolicy) {
+            case BLOCK -> {
+                try {
+                    if (queue.offer(auditLog, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop(auditLog);
+            }
+            case CALLER_RUNS -> writeBatch(List.of(auditLog));
+            default -> drop(auditLog);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private void drop(AuditLog auditLog) {
+        dropped.increment();
+        log.warn("Audit queue full, dropping {} event for user {}", auditLog.getEventType(), auditLog.getUsername());
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+
+        while (running) {
+            try {
+                long wait = batch.isEmpty() ? flushIntervalMillis : Math.max(1, deadline - System.currentTimeMillis());
+                AuditLog next = queue.poll(wait, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    if (batch.isEmpty()) {
+                        deadline = System.currentTimeMillis() + flushIntervalMillis;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                if (!batch.isEmpty() && (batch.size() >= batchSize || System.currentTimeMillis() >= deadline)) {
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                // Shutdown requested; stop() flushes whatever is still queued
+                break;
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        try {
+            insert(batch);
+            written.add(batch.size());
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                failed.increment();
+                log.error("Failed to write audit event {} for {}", batch.get(0).getEventType(),
+                        truncate(batch.get(0).getUsername(), USERNAME_LENGTH), e);
+                return;
+            }
+            log.warn("Failed to write batch of {} audit events, retrying one by one", batch.size(), e);
+            for (AuditLog auditLog : batch) {
+                writeBatch(List.of(auditLog));
+            }
+        }
+    }
+
+    private void insert(List<AuditLog> batch) {
+        // One transaction per batch, so a failed batch leaves no rows behind to be duplicated by the retry
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, auditLog) -> {
+                    ps.setString(1, truncate(auditLog.getUsername(), USERNAME_LENGTH));
+                    ps.setString(2, auditLog.getEventType().name());
+                    ps.setBoolean(3, auditLog.isSuccess());
+                    ps.setString(4, truncate(auditLog.getMessage(), 500));
+                    ps.setString(5, truncate(auditLog.getIpAddress(), 50));
+                    ps.setString(6, truncate(auditLog.getUserAgent(), 500));
+                    ps.setTimestamp(7, Timestamp.valueOf(auditLog.getEventTime()));
+                }));
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -0,0 +1,73 @@
+package com.app.login.cache;
+
+import com.app.login.service.CustomUserDetailsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of resolved principals keyed by username.
+ * Saves the user + roles lookup that JwtAuthenticationFilter would otherwise
+ * run on every authenticated request. Entries are invalidated by AuthService
+ * whenever lock, active or role state changes.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final TtlCache<String, UserDetails> cache;
+    private final boolean enabled;
+    private final long ttlMillis;
+
+    public PrincipalCache(CustomUserDetailsService userDetailsService,
+                          @Value("${cache.principal.enabled:true}") boolean enabled,
+                          @Value("${cache.principal.max-size:10000}") int maxSize,
+                          @Value("${cache.principal.ttl:60000}") long ttlMillis) {
+        this.userDetailsService = userDetailsService;
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        this.cache = new TtlCache<>(maxSize);
+    }
+
+    /**
+     * Load the principal for a username, from cache when possible
+     */
+    public UserDetails loadUserByUsername(String username) {
+        if (!enabled) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        return cache.get(username, userDetailsService::loadUserByUsername, ttlMillis);
+    }
+
+    /**
+     * Drop the cached principal after a change to the user's lock, active or role state
+     */
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+            log.debug("Principal cache invalidated for user: {}", username);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
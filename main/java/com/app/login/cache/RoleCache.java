@@ -0,0 +1,34 @@
+package com.app.login.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.app.login.entity.Role;
+import com.app.login.repository.RoleRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cache of Role rows by name.
+ * Roles are seeded once at startup and never change afterwards, so each one
+ * is read from the database at most once per instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleCache {
+
+    private final RoleRepository roleRepository;
+    private final Map<Role.RoleName, Role> roles = new ConcurrentHashMap<>();
+
+    public Role get(Role.RoleName name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            role = roleRepository.findByName(name)
+                    .orElseThrow(() -> new IllegalStateException("Role not found: " + name));
+            roles.put(name, role);
+        }
+        return role;
+    }
+}
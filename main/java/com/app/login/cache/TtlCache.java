@@ -0,0 +1,137 @@
+package com.app.login.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory cache with per-entry expiry and size-based eviction.
+ * Expired entries are dropped on read; when the cache grows past its maximum
+ * size, expired entries are purged first and then the entries closest to
+ * expiry are evicted.
+ */
+public class TtlCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get a live entry, or null if absent or expired
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Get a live entry or compute it with the loader. Null results are not cached.
+     */
+    public V get(K key, Function<K, V> loader, long ttlMillis) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value, System.currentTimeMillis() + ttlMillis);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Purge expired entries, then trim the soonest-to-expire ones until the
+     * cache is back under 90% of its capacity so eviction is not run on every put.
+     */
+    private synchronized void evict() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(e -> e.getValue().expiresAtMillis <= now);
+
+        int target = maxSize - maxSize / 10;
+        while (entries.size() > target) {
+            K oldestKey = null;
+            long oldestExpiry = Long.MAX_VALUE;
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            // Sample a bounded window rather than scanning the whole map
+            for (int i = 0; i < 16 && it.hasNext(); i++) {
+                Map.Entry<K, Entry<V>> e = it.next();
+                if (e.getValue().expiresAtMillis < oldestExpiry) {
+                    oldestExpiry = e.getValue().expiresAtMillis;
+                    oldestKey = e.getKey();
+                }
+            }
+            if (oldestKey == null) {
+                break;
+            }
+            entries.remove(oldestKey);
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
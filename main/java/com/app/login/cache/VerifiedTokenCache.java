@@ -0,0 +1,165 @@
+package com.app.login.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.common.util.JwtUtil;
+import com.app.login.security.RevokedTokenIndex;
+import com.app.login.security.RoleSet;
+import com.app.login.security.TokenDigest;
+import com.app.login.security.VerifiedToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of verified JWT claims keyed by token digest.
+ * The signature check and claim parsing run once per token; repeat requests
+ * with the same bearer token are served from memory. Entries never outlive
+ * the token's own exp claim.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private static final ObjectMapper CLAIMS_READER = new ObjectMapper();
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final RevokedTokenIndex revokedTokens;
+    private final TtlCache<TokenDigest, VerifiedToken> cache;
+    private final boolean enabled;
+    private final long maxTtlMillis;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, RevokedTokenIndex revokedTokens,
+                              @Value("${cache.token.enabled:true}") boolean enabled,
+                              @Value("${cache.token.max-size:50000}") int maxSize,
+                              @Value("${cache.token.max-ttl:300000}") long maxTtlMillis) {
+        this.jwtUtil = jwtUtil;
+        this.revokedTokens = revokedTokens;
+        this.enabled = enabled;
+        this.maxTtlMillis = maxTtlMillis;
+        this.cache = new TtlCache<>(maxSize);
+    }
+
+    /**
+     * Verify a token, returning its claims or null if it is invalid, expired or revoked
+     */
+    public VerifiedToken verify(String token) {
+        TokenDigest digest;
+        try {
+            digest = TokenDigest.of(token);
+        } catch (IllegalArgumentException e) {
+            log.debug("Malformed token: {}", e.getMessage());
+            return null;
+        }
+        return verify(digest, token);
+    }
+
+    /**
+     * Verify the token in a "Bearer ..." Authorization header, or return null if
+     * the header is not a bearer header. The token is only copied out of the
+     * header on a cache miss.
+     */
+    public VerifiedToken verifyBearer(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        TokenDigest digest;
+        try {
+            digest = TokenDigest.of(authorizationHeader, BEARER_PREFIX.length());
+        } catch (IllegalArgumentException e) {
+            log.debug("Malformed bearer token: {}", e.getMessage());
+            return null;
+        }
+        if (revokedTokens.isRevoked(digest)) {
+            return null;
+        }
+        VerifiedToken cached = enabled ? cache.get(digest) : null;
+        return cached != null ? cached : verifyAndCache(digest, authorizationHeader.substring(BEARER_PREFIX.length()));
+    }
+
+    /**
+     * Verify a token whose digest the caller has already computed
+     */
+    public VerifiedToken verify(TokenDigest digest, String token) {
+        if (revokedTokens.isRevoked(digest)) {
+            return null;
+        }
+        VerifiedToken cached = enabled ? cache.get(digest) : null;
+        return cached != null ? cached : verifyAndCache(digest, token);
+    }
+
+    private VerifiedToken verifyAndCache(TokenDigest digest, String token) {
+        VerifiedToken verified = parse(digest, token);
+        if (verified != null && enabled) {
+            long now = System.currentTimeMillis();
+            cache.put(digest, verified, Math.min(verified.getExpiresAtMillis(), now + maxTtlMillis));
+        }
+        return verified;
+    }
+
+    /**
+     * Revoke a token: it fails verification from now until it expires
+     */
+    public void revoke(VerifiedToken token) {
+        revokedTokens.revoke(token.getDigest(), token.getExpiresAtMillis());
+        cache.invalidate(token.getDigest());
+    }
+
+    public void invalidate(TokenDigest digest) {
+        cache.invalidate(digest);
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private VerifiedToken parse(TokenDigest digest, String token) {
+        try {
+            if (!jwtUtil.validateToken(token)) {
+                return null;
+            }
+            String username = jwtUtil.extractUsername(token);
+            if (username == null) {
+                return null;
+            }
+            RoleSet roles = RoleSet.fromNames(jwtUtil.extractRoles(token));
+            return new VerifiedToken(digest, username, roles, readExpiry(token));
+        } catch (Exception e) {
+            log.debug("Token verification failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read the exp claim from an already-verified token. Falls back to the
+     * maximum cache TTL when the token carries no expiry.
+     */
+    private long readExpiry(String token) {
+        try {
+            int first = token.indexOf('.');
+            int second = token.indexOf('.', first + 1);
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(first + 1, second));
+            JsonNode exp = CLAIMS_READER.readTree(new String(payload, StandardCharsets.UTF_8)).get("exp");
+            if (exp != null && exp.canConvertToLong()) {
+                return exp.asLong() * 1000;
+            }
+        } catch (Exception e) {
+            log.debug("Could not read exp claim: {}", e.getMessage());
+        }
+        return System.currentTimeMillis() + maxTtlMillis;
+    }
+}
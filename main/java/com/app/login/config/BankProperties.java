@@ -0,0 +1,42 @@
+package com.app.login.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * The bank: block of application.yml.
+ * Supported languages and currencies apply to every tenant unless the tenant
+ * overrides them under bank.tenants.<tenant-id>.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank")
+public class BankProperties {
+
+    private String name = "Credexa Bank";
+    private String logoUrl = "/assets/logo.png";
+    private String defaultTenant = "default";
+    private String tenantHeader = "X-Tenant-ID";
+    private List<String> supportedLanguages = new ArrayList<>();
+    private List<CurrencyProperties> supportedCurrencies = new ArrayList<>();
+    private Map<String, TenantProperties> tenants = new HashMap<>();
+
+    @Data
+    public static class CurrencyProperties {
+        private String code;
+        private int decimalPlaces = 2;
+    }
+
+    @Data
+    public static class TenantProperties {
+        private List<String> supportedLanguages;
+        private List<CurrencyProperties> supportedCurrencies;
+    }
+}
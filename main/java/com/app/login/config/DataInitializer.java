@@ -3,16 +3,19 @@ package com.app.login.config;
 import com.app.login.entity.BankConfiguration;
 import com.app.login.entity.Role;
 import com.app.login.entity.User;
+import com.app.login.event.BankConfigurationChangedEvent;
 import com.app.login.repository.BankConfigurationRepository;
 import com.app.login.repository.RoleRepository;
 import com.app.login.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
+import java.util.List;
 
 /**
  * Data initializer to create default roles, admin user, and bank configuration
@@ -26,6 +29,8 @@ public class DataInitializer implements CommandLineRunner {
     private final UserRepository userRepository;
     private final BankConfigurationRepository bankConfigRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BankProperties bankProperties;
 
     @Override
     public void run(String... args) {
@@ -89,17 +94,42 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void createDefaultBankConfiguration() {
-        if (bankConfigRepository.findByActiveTrue().isEmpty()) {
+        String defaultTenant = bankProperties.getDefaultTenant();
+
+        // The row served before multi-tenancy (the single active one) becomes the default tenant's.
+        // tenant_id is unique, so other legacy rows are left unassigned; nothing reads them any more.
+        List<BankConfiguration> legacyRows = bankConfigRepository.findByTenantIdIsNull();
+        if (!legacyRows.isEmpty() && !bankConfigRepository.existsByTenantId(defaultTenant)) {
+            List<BankConfiguration> active = legacyRows.stream().filter(BankConfiguration::isActive).toList();
+            if (active.size() == 1) {
+                BankConfiguration legacy = active.get(0);
+                legacy.setTenantId(defaultTenant);
+                bankConfigRepository.save(legacy);
+                eventPublisher.publishEvent(new BankConfigurationChangedEvent(legacy.getId()));
+                log.info("Assigned bank configuration {} to tenant {}", legacy.getId(), defaultTenant);
+            } else {
+                log.warn("{} active bank configurations have no tenant; none assigned to tenant {}",
+                        active.size(), defaultTenant);
+            }
+        }
+        legacyRows.stream()
+                .filter(legacy -> legacy.getTenantId() == null)
+                .forEach(legacy -> log.warn("Bank configuration {} (active={}) has no tenant and is not served",
+                        legacy.getId(), legacy.isActive()));
+
+        if (!bankConfigRepository.existsByTenantId(defaultTenant)) {
             BankConfiguration config = BankConfiguration.builder()
-                    .bankName("Credexa Bank")
-                    .logoUrl("/assets/logo.png")
+                    .tenantId(defaultTenant)
+                    .bankName(bankProperties.getName())
+                    .logoUrl(bankProperties.getLogoUrl())
                     .defaultLanguage("en")
                     .defaultCurrency("USD")
                     .currencyDecimalPlaces(2)
                     .active(true)
                     .build();
             
-            bankConfigRepository.save(config);
+            config = bankConfigRepository.save(config);
+            eventPublisher.publishEvent(new BankConfigurationChangedEvent(config.getId()));
             log.info("Created default bank configuration");
         }
     }
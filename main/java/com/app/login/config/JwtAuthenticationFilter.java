@@ -1,7 +1,13 @@
 package com.app.login.config;
 
-import com.app.common.util.JwtUtil;
-import com.app.login.service.CustomUserDetailsService;
+import com.app.login.cache.PrincipalCache;
+import com.app.login.cache.VerifiedTokenCache;
+import com.app.login.metrics.AuthMetrics;
+import com.app.login.metrics.AuthMetrics.Operation;
+import com.app.login.metrics.AuthMetrics.Outcome;
+import com.app.login.metrics.AuthMetrics.Phase;
+import com.app.login.security.VerifiedToken;
+import com.app.login.service.SessionActivityTracker;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +15,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,55 +22,60 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * JWT Authentication Filter
- * Validates JWT token on every request
+ * Validates JWT token on every request. The steady-state path (token and
+ * principal both cached) only allocates the digest, the authentication token
+ * and its details: authorities are shared RoleSet lists and nothing is logged
+ * unless DEBUG is enabled. Only the authentication step is timed, not the
+ * rest of the filter chain.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final PrincipalCache principalCache;
+    private final SessionActivityTracker activityTracker;
+    private final AuthMetrics metrics;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                    HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
         
+        long started = metrics.start();
+        Outcome outcome = Outcome.ANONYMOUS;
         try {
-            String authHeader = request.getHeader("Authorization");
+            long phaseStarted = metrics.start();
+            VerifiedToken verified = tokenCache.verifyBearer(request.getHeader("Authorization"));
+            metrics.record(Phase.FILTER_TOKEN_VERIFY, phaseStarted);
 
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String token = authHeader.substring(7);
-                String username = jwtUtil.extractUsername(token);
+            if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                phaseStarted = metrics.start();
+                UserDetails userDetails = principalCache.loadUserByUsername(verified.getUsername());
+                metrics.record(Phase.FILTER_PRINCIPAL_LOAD, phaseStarted);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, verified.getRoles().getAuthorities());
 
-                    if (jwtUtil.validateToken(token, username)) {
-                        List<String> roles = jwtUtil.extractRoles(token);
-                        List<SimpleGrantedAuthority> authorities = roles.stream()
-                                .map(SimpleGrantedAuthority::new)
-                                .collect(Collectors.toList());
+                authToken.setDetails(detailsSource.buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                activityTracker.touch(verified.getDigest());
+                outcome = Outcome.SUCCESS;
 
-                        UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
-                        
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        
-                        log.debug("JWT authentication successful for user: {}", username);
-                    }
+                if (log.isDebugEnabled()) {
+                    log.debug("JWT authentication successful for user: {}", verified.getUsername());
                 }
             }
         } catch (Exception e) {
+            outcome = Outcome.FAILURE;
             log.error("Cannot set user authentication", e);
         }
+        metrics.record(Operation.FILTER, outcome, started);
 
         filterChain.doFilter(request, response);
     }
@@ -3,6 +3,7 @@ package com.app.login.config;
 import java.util.Arrays;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,7 +15,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -22,6 +22,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.app.login.security.PasswordHashPolicy;
 import com.app.login.service.CustomUserDetailsService;
 
 import lombok.RequiredArgsConstructor;
@@ -39,12 +40,19 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider,
+                                                   @Value("${server.port:8080}") int serverPort,
+                                                   @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        // Actuator is open only on its own internal listener; on a shared port it needs authentication
+        boolean separateManagementPort = managementPort > 0 && managementPort != serverPort;
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .logout(AbstractHttpConfigurer::disable) // Disable default logout handling
             .authorizeHttpRequests(auth -> auth
+                // Health and Prometheus scrapes on the internal management port
+                .requestMatchers(request -> separateManagementPort && request.getLocalPort() == managementPort).permitAll()
                 // Public endpoints
                 .requestMatchers(
                     "/register",
@@ -52,11 +60,13 @@ public class SecurityConfig {
                     "/health",
                     "/bank-config",
                     "/validate-token",
+                    "/validate-token/batch",
                     "/user/**",  // For microservice communication (customer-service fetching userId)
                     "/swagger-ui/**",
                     "/api-docs/**",
                     "/v3/api-docs/**",
-                    "/swagger-ui.html"
+                    "/swagger-ui.html",
+                    "/actuator/health"
                 ).permitAll()
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
@@ -64,22 +74,22 @@ public class SecurityConfig {
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Strength 12 for BCrypt
+    public PasswordEncoder passwordEncoder(PasswordHashPolicy passwordHashPolicy) {
+        return passwordHashPolicy.createEncoder(); // {id}-prefixed, BCrypt strength 12 by default
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
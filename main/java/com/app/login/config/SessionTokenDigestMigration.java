@@ -0,0 +1,192 @@
+package com.app.login.config;
+
+import com.app.login.security.TokenDigest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Migration from full JWTs to token digests in user_sessions, in two steps so
+ * a rolling deploy never breaks the instances still on the old version.
+ * Older schemas keyed sessions by the raw token in session_token (NOT NULL,
+ * unique), which this version no longer writes.
+ *
+ * Expand (default): session_token is made nullable so this version can insert
+ * sessions, and token_digest is filled for existing rows. The column stays,
+ * so old instances keep reading and writing their sessions; the rows they add
+ * are given digests by a background backfill on every new instance, and
+ * RevokedTokenIndex reads their logouts from session_token until then.
+ *
+ * Contract: once no old instance is left, a later deploy with
+ * session.token-migration.drop-legacy-column=true backfills the last rows and
+ * drops session_token (and its unique index), so tokens are no longer kept at
+ * rest. Does nothing once the column is gone.
+ *
+ * Runs while the context is being built, after Hibernate has added
+ * token_digest and before anything that reads sessions (RevokedTokenIndex
+ * depends on this bean) or the web server starts. On MySQL the schema changes
+ * hold a named lock so instances starting together migrate once. A failure
+ * aborts startup.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SessionTokenDigestMigration implements InitializingBean {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String LOCK_NAME = "login-service.user_sessions.token_digest";
+    private static final int LOCK_TIMEOUT_SECONDS = 600;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${session.token-migration.drop-legacy-column:false}")
+    private boolean dropLegacyColumn;
+
+    private volatile boolean legacyColumnPresent;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!legacyColumnExists(jdbcTemplate)) {
+            return;
+        }
+        // The schema changes and backfill run on one connection that holds the named lock
+        jdbcTemplate.execute((Connection connection) -> {
+            JdbcTemplate locked = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            boolean mySql = isMySql(connection);
+            if (mySql) {
+                Integer acquired = locked.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class,
+                        LOCK_NAME, LOCK_TIMEOUT_SECONDS);
+                if (acquired == null || acquired != 1) {
+                    throw new IllegalStateException("Timed out waiting for another instance to migrate user_sessions");
+                }
+            }
+            try {
+                if (legacyColumnExists(locked)) {
+                    expand(locked, mySql);
+                    if (dropLegacyColumn) {
+                        contract(locked);
+                    }
+                }
+            } finally {
+                if (mySql) {
+                    locked.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+                }
+            }
+            return null;
+        });
+        legacyColumnPresent = legacyColumnExists(jdbcTemplate);
+        if (legacyColumnPresent) {
+            log.info("user_sessions.session_token kept for instances on the previous version; "
+                    + "set session.token-migration.drop-legacy-column=true once they are gone");
+        }
+    }
+
+    /**
+     * Whether user_sessions still has session_token, i.e. old instances may be writing sessions without digests
+     */
+    public boolean isLegacyColumnPresent() {
+        return legacyColumnPresent;
+    }
+
+    /**
+     * Give digests to sessions that old instances created since the last run.
+     * Every instance runs this; the update is idempotent, so concurrent runs are harmless.
+     */
+    @Scheduled(fixedDelayString = "${session.token-migration.backfill-interval:5000}",
+               initialDelayString = "${session.token-migration.backfill-interval:5000}")
+    public void backfillLegacySessions() {
+        if (!legacyColumnPresent) {
+            return;
+        }
+        try {
+            int migrated = backfill(jdbcTemplate);
+            if (migrated > 0) {
+                log.debug("Backfilled token digests for {} sessions", migrated);
+            }
+        } catch (Exception e) {
+            // Dropped by a newer instance running the contract step
+            legacyColumnPresent = legacyColumnExists(jdbcTemplate);
+            if (legacyColumnPresent) {
+                log.warn("Session token digest backfill failed", e);
+            }
+        }
+    }
+
+    private void expand(JdbcTemplate jdbc, boolean mySql) {
+        if (legacyColumnNotNull(jdbc)) {
+            jdbc.execute(mySql
+                    ? "ALTER TABLE user_sessions MODIFY COLUMN session_token VARCHAR(255) NULL"
+                    : "ALTER TABLE user_sessions ALTER COLUMN session_token SET NULL");
+            log.info("user_sessions.session_token made nullable");
+        }
+        log.info("Session token migration: {} sessions given token digests", backfill(jdbc));
+    }
+
+    private void contract(JdbcTemplate jdbc) {
+        int migrated = backfill(jdbc);
+        jdbc.execute("ALTER TABLE user_sessions DROP COLUMN session_token");
+        log.info("Session token migration completed: {} sessions re-keyed, session_token column dropped", migrated);
+    }
+
+    private static int backfill(JdbcTemplate jdbc) {
+        int migrated = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbc.queryForList(
+                    "SELECT id, session_token FROM user_sessions "
+                            + "WHERE token_digest IS NULL AND session_token IS NOT NULL ORDER BY id LIMIT " + CHUNK_SIZE);
+            jdbc.batchUpdate("UPDATE user_sessions SET token_digest = ? WHERE id = ? AND token_digest IS NULL",
+                    rows, rows.size(), (ps, row) -> {
+                        ps.setBytes(1, TokenDigest.of((String) row.get("session_token")).toBytes());
+                        ps.setLong(2, ((Number) row.get("id")).longValue());
+                    });
+            migrated += rows.size();
+        } while (rows.size() == CHUNK_SIZE);
+        return migrated;
+    }
+
+    private static boolean legacyColumnExists(JdbcTemplate jdbc) {
+        return legacyColumnNullability(jdbc) != null;
+    }
+
+    private static boolean legacyColumnNotNull(JdbcTemplate jdbc) {
+        return "NO".equals(legacyColumnNullability(jdbc));
+    }
+
+    /**
+     * IS_NULLABLE of session_token ("YES" or "NO"), or null when the column does not exist
+     */
+    private static String legacyColumnNullability(JdbcTemplate jdbc) {
+        return jdbc.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String[] names : new String[][] {{"user_sessions", "session_token"}, {"USER_SESSIONS", "SESSION_TOKEN"}}) {
+                try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, names[0], names[1])) {
+                    if (columns.next()) {
+                        return columns.getString("IS_NULLABLE");
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
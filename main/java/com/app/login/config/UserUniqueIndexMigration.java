@@ -0,0 +1,132 @@
+package com.app.login.config;
+
+import com.app.login.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-time clean-up of the unique indexes on users after they were given
+ * fixed names (uk_users_*). Older schemas carry Hibernate's generated names
+ * from the column-level unique flags, and ddl-auto=update adds the named
+ * constraints beside them, leaving two unique indexes per column. For each of
+ * username, email and mobile_number this drops the generated index when the
+ * named one exists, or renames it when it does not, so registration conflicts
+ * always report the uk_users_* name.
+ *
+ * MySQL only, under a named lock like SessionTokenDigestMigration, before the
+ * web server starts. Does nothing once only the named indexes are left.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class UserUniqueIndexMigration implements InitializingBean {
+
+    private static final String LOCK_NAME = "login-service.users.unique_indexes";
+    private static final int LOCK_TIMEOUT_SECONDS = 600;
+    private static final Map<String, String> NAMED_INDEXES = Map.of(
+            "username", User.UK_USERNAME,
+            "email", User.UK_EMAIL,
+            "mobile_number", User.UK_MOBILE_NUMBER);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.execute((Connection connection) -> {
+            if (!isMySql(connection) || generatedIndexes(connection).isEmpty()) {
+                return null;
+            }
+            JdbcTemplate locked = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer acquired = locked.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class,
+                    LOCK_NAME, LOCK_TIMEOUT_SECONDS);
+            if (acquired == null || acquired != 1) {
+                throw new IllegalStateException("Timed out waiting for another instance to migrate users indexes");
+            }
+            try {
+                migrate(connection, locked);
+            } finally {
+                locked.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+            return null;
+        });
+    }
+
+    private void migrate(Connection connection, JdbcTemplate jdbc) throws SQLException {
+        Set<String> existing = indexNames(connection);
+        for (Map.Entry<String, List<String>> column : generatedIndexes(connection).entrySet()) {
+            String named = NAMED_INDEXES.get(column.getKey());
+            for (String generated : column.getValue()) {
+                if (existing.contains(named)) {
+                    jdbc.execute("ALTER TABLE users DROP INDEX `" + generated + "`");
+                    log.info("Dropped unique index {} on users.{}, duplicated by {}", generated, column.getKey(), named);
+                } else {
+                    jdbc.execute("ALTER TABLE users RENAME INDEX `" + generated + "` TO `" + named + "`");
+                    existing.add(named);
+                    log.info("Renamed unique index {} on users.{} to {}", generated, column.getKey(), named);
+                }
+            }
+        }
+    }
+
+    /**
+     * Single-column unique indexes on username, email or mobile_number that are
+     * not the uk_users_* one, by column
+     */
+    private static Map<String, List<String>> generatedIndexes(Connection connection) throws SQLException {
+        Map<String, List<String>> columnsByIndex = new LinkedHashMap<>();
+        try (ResultSet indexes = connection.getMetaData()
+                .getIndexInfo(connection.getCatalog(), null, "users", true, false)) {
+            while (indexes.next()) {
+                String index = indexes.getString("INDEX_NAME");
+                String column = indexes.getString("COLUMN_NAME");
+                if (index != null && column != null) {
+                    columnsByIndex.computeIfAbsent(index, name -> new ArrayList<>()).add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        Map<String, List<String>> generated = new LinkedHashMap<>();
+        columnsByIndex.forEach((index, columns) -> {
+            if (columns.size() == 1 && NAMED_INDEXES.containsKey(columns.get(0))
+                    && !NAMED_INDEXES.get(columns.get(0)).equalsIgnoreCase(index)) {
+                generated.computeIfAbsent(columns.get(0), column -> new ArrayList<>()).add(index);
+            }
+        });
+        return generated;
+    }
+
+    private static Set<String> indexNames(Connection connection) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (ResultSet indexes = connection.getMetaData()
+                .getIndexInfo(connection.getCatalog(), null, "users", false, false)) {
+            while (indexes.next()) {
+                String index = indexes.getString("INDEX_NAME");
+                if (index != null) {
+                    names.add(index.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
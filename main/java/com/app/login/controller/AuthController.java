@@ -1,5 +1,10 @@
 package com.app.login.controller;
 
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,13 +15,17 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.app.common.dto.ApiResponse;
 import com.app.login.dto.BankConfigResponse;
+import com.app.login.dto.BatchTokenValidationRequest;
 import com.app.login.dto.LoginRequest;
 import com.app.login.dto.LoginResponse;
 import com.app.login.dto.RegisterRequest;
 import com.app.login.dto.TokenValidationResponse;
 import com.app.login.entity.User;
+import com.app.login.exception.HashingCapacityExceededException;
+import com.app.login.exception.LoginThrottledException;
 import com.app.login.service.AuthService;
 import com.app.login.service.BankConfigService;
+import com.app.login.service.TenantResolver;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -38,6 +47,7 @@ public class AuthController {
 
     private final AuthService authService;
     private final BankConfigService bankConfigService;
+    private final TenantResolver tenantResolver;
 
     @PostMapping("/register")
     @Operation(summary = "Register new user", description = "Create a new user account with username/email/mobile")
@@ -48,6 +58,8 @@ public class AuthController {
             user.setPassword(null);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("User registered successfully", user));
+        } catch (HashingCapacityExceededException e) {
+            return serviceBusy(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error(e.getMessage()));
@@ -66,6 +78,12 @@ public class AuthController {
         try {
             LoginResponse response = authService.login(request, httpRequest);
             return ResponseEntity.ok(ApiResponse.success("Login successful", response));
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (HashingCapacityExceededException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             log.error("Login failed for user: {}", request.getUsernameOrEmailOrMobile(), e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -108,12 +126,39 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/validate-token/batch")
+    @Operation(summary = "Validate JWT tokens in bulk", description = "Validate a list of JWT tokens in one call; results are returned in request order")
+    public ResponseEntity<ApiResponse<List<TokenValidationResponse>>> validateTokens(
+            @Valid @RequestBody BatchTokenValidationRequest request) {
+        try {
+            List<TokenValidationResponse> responses = authService.validateTokens(request.getTokens());
+            return ResponseEntity.ok(ApiResponse.success(responses));
+        } catch (Exception e) {
+            log.error("Batch token validation failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Batch token validation failed"));
+        }
+    }
+
     @GetMapping("/bank-config")
-    @Operation(summary = "Get bank configuration", description = "Get bank name, logo, language, and currency settings")
-    public ResponseEntity<ApiResponse<BankConfigResponse>> getBankConfig() {
+    @Operation(summary = "Get bank configuration",
+            description = "Get bank name, logo, language, and currency settings for the tenant resolved from "
+                    + "the tenant header or host. Supports If-None-Match (304).")
+    public ResponseEntity<ApiResponse<BankConfigResponse>> getBankConfig(HttpServletRequest request) {
         try {
-            BankConfigResponse config = bankConfigService.getBankConfiguration();
-            return ResponseEntity.ok(ApiResponse.success(config));
+            String tenantId = tenantResolver.resolve(request);
+            BankConfigService.Snapshot config = bankConfigService.getSnapshot(tenantId);
+            if (config == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Unknown tenant: " + tenantId));
+            }
+            // The ETag lets Spring answer a matching If-None-Match with 304 and no body
+            return ResponseEntity.ok()
+                    .eTag(config.getEtag())
+                    .cacheControl(CacheControl.maxAge(Duration.ofSeconds(bankConfigService.getCacheMaxAgeSeconds()))
+                            .cachePublic())
+                    .varyBy(tenantResolver.getTenantHeader(), HttpHeaders.HOST)
+                    .body(ApiResponse.success(config.getResponse()));
         } catch (Exception e) {
             log.error("Failed to get bank configuration", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -141,4 +186,11 @@ public class AuthController {
     public ResponseEntity<ApiResponse<String>> health() {
         return ResponseEntity.ok(ApiResponse.success("Login Service is running"));
     }
+
+    private <T> ResponseEntity<ApiResponse<T>> serviceBusy(HashingCapacityExceededException e) {
+        log.warn("Shedding request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
 }
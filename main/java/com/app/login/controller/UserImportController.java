@@ -0,0 +1,74 @@
+package com.app.login.controller;
+
+import java.io.IOException;
+import java.security.Principal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.app.common.dto.ApiResponse;
+import com.app.login.dto.UserImportReport;
+import com.app.login.service.UserImportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST Controller for administrative bulk user import
+ */
+@RestController
+@RequestMapping("/admin/users/import")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "User Import", description = "Bulk user onboarding APIs")
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Start bulk user import",
+            description = "Upload a CSV (with header) or NDJSON file of users. Rows up to resumeFromRow are skipped.")
+    public ResponseEntity<ApiResponse<UserImportReport>> startImport(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(defaultValue = "0") long resumeFromRow,
+            Principal principal) {
+        try {
+            UserImportReport report = userImportService.startImport(file, resumeFromRow, principal.getName());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("User import started", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IOException e) {
+            log.error("Failed to store import upload", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to store import upload"));
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get import progress", description = "Counts, throughput, last committed row and per-row errors")
+    public ResponseEntity<ApiResponse<UserImportReport>> getReport(@PathVariable String jobId) {
+        UserImportReport report = userImportService.getReport(jobId);
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Import job not found"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(report));
+    }
+}
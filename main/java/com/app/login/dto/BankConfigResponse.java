@@ -1,5 +1,7 @@
 package com.app.login.dto;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,9 +16,19 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class BankConfigResponse {
 
+    private String tenantId;
     private String bankName;
     private String logoUrl;
     private String defaultLanguage;
     private String defaultCurrency;
     private int currencyDecimalPlaces;
-}
+    private List<String> supportedLanguages;
+    private List<SupportedCurrency> supportedCurrencies;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SupportedCurrency {
+        private String code;
+        private int decimalPlaces;
+    }
@@ -0,0 +1,24 @@
+package com.app.login.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for validating several tokens in one call
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTokenValidationRequest {
+
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = 500, message = "At most 500 tokens can be validated per request")
+    private List<String> tokens;
+}
@@ -2,6 +2,7 @@ package com.app.login.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,6 +20,8 @@ public class RegisterRequest {
 
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 100, message = "Username must be between 3 and 100 characters")
+    // Login treats identifiers with '@' as emails and 10-15 digits as mobile numbers
+    @Pattern(regexp = "^(?!\\+?\\d{10,15}$)[^@]*$", message = "Username cannot contain '@' or be a mobile number")
     private String username;
 
     @NotBlank(message = "Password is required")
@@ -29,7 +32,8 @@ public class RegisterRequest {
     @Email(message = "Email should be valid")
     private String email;
 
-    @Size(min = 10, max = 15, message = "Mobile number should be between 10 and 15 digits")
+    // Must match the shape login uses to route an identifier to the mobile number index
+    @Pattern(regexp = "\\+?\\d{10,15}", message = "Mobile number should be 10 to 15 digits, optionally prefixed with +")
     private String mobileNumber;
 
     private String preferredLanguage = "en";
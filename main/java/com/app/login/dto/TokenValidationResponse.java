@@ -1,5 +1,7 @@
 package com.app.login.dto;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,6 +19,6 @@ public class TokenValidationResponse {
     private boolean valid;
     private String username;
     private Long userId;
-    private String[] roles;
+    private List<String> roles;
     private String message;
 }
@@ -0,0 +1,44 @@
+package com.app.login.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress and outcome of a bulk user import job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportReport {
+
+    private String jobId;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private String fileName;
+    private long rowsRead;
+    private long imported;
+    private long skipped; // already present, e.g. when re-running after a crash
+    private long failed;
+    private long lastCommittedRow; // pass as resumeFromRow to continue after a crash
+    private long elapsedMillis;
+    private double usersPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+    private String message;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long row;
+        private String username;
+        private String error;
+    }
+}
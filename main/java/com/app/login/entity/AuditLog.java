@@ -9,10 +9,17 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 /**
- * Audit log for tracking login attempts and security events
+ * Audit log for tracking login attempts and security events.
+ * On MySQL the table is range-partitioned by month on event_time (converted
+ * offline by db/audit_logs_partitioning.sql, then maintained by
+ * AuditLogPartitionManager), so its primary key there is (id, event_time).
  */
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "ix_audit_logs_username_event_time", columnList = "username, event_time"),
+        @Index(name = "ix_audit_logs_event_type_event_time", columnList = "event_type, event_time"),
+        @Index(name = "ix_audit_logs_event_time", columnList = "event_time")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -42,7 +49,7 @@ public class AuditLog {
     @Column(name = "user_agent", length = 500)
     private String userAgent;
 
-    @Column(name = "event_time")
+    @Column(name = "event_time", nullable = false)
     private LocalDateTime eventTime;
 
     public enum EventType {
@@ -0,0 +1,50 @@
+package com.app.login.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hourly counts of security events, maintained from audit_logs by
+ * AuditLogRollupJob so dashboards never scan raw audit rows
+ */
+@Entity
+@Table(name = "audit_log_hourly_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogHourlyRollup {
+
+    /**
+     * Start of the hour (inclusive) the counts cover
+     */
+    @Id
+    @Column(name = "hour_start")
+    private LocalDateTime hourStart;
+
+    @Column(name = "login_successes", nullable = false)
+    private long loginSuccesses;
+
+    @Column(name = "login_failures", nullable = false)
+    private long loginFailures;
+
+    @Column(name = "lockouts", nullable = false)
+    private long lockouts;
+
+    @Column(name = "logouts", nullable = false)
+    private long logouts;
+
+    @Column(name = "auto_logouts", nullable = false)
+    private long autoLogouts;
+
+    @Column(name = "registrations", nullable = false)
+    private long registrations;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
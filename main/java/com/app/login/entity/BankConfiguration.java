@@ -11,7 +11,8 @@ import lombok.NoArgsConstructor;
  * Stores bank name, logo, language, and currency preferences
  */
 @Entity
-@Table(name = "bank_configuration")
+@Table(name = "bank_configuration",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bank_configuration_tenant_id", columnNames = "tenant_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -22,6 +23,15 @@ public class BankConfiguration {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "tenant_id", length = 50)
+    private String tenantId;
+
+    /**
+     * Comma-separated host names served as this tenant, e.g. "bank-a.example.com,www.bank-a.example.com"
+     */
+    @Column(name = "host_names", length = 500)
+    private String hostNames;
+
     @Column(name = "bank_name", nullable = false)
     private String bankName;
 
@@ -0,0 +1,74 @@
+package com.app.login.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row for a login event.
+ * Written in the same transaction as the login or logout it describes and
+ * published to Kafka afterwards by LoginEventRelay.
+ */
+@Entity
+@Table(name = "login_event_outbox", indexes = {
+        @Index(name = "ix_login_event_outbox_unpublished", columnList = "published_at, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, length = 36)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private String email;
+
+    @Column(name = "ip_address", length = 50)
+    private String ipAddress;
+
+    @Column(name = "user_agent", length = 500)
+    private String userAgent;
+
+    @Column(name = "event_time", nullable = false)
+    private LocalDateTime eventTime;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * Lease taken by a relay instance while it sends this row; null when unclaimed
+     */
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Set when the relay gave up after outbox.relay.max-attempts failed sends;
+     * such rows are kept for inspection and never picked up again
+     */
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+}
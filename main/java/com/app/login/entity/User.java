@@ -17,9 +17,11 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "users", uniqueConstraints = {
-    @UniqueConstraint(columnNames = "username"),
-    @UniqueConstraint(columnNames = "email"),
-    @UniqueConstraint(columnNames = "mobile_number")
+    @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username"),
+    @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email"),
+    @UniqueConstraint(name = User.UK_MOBILE_NUMBER, columnNames = "mobile_number")
+}, indexes = {
+    @Index(name = "ix_users_locked_until", columnList = "locked_until")
 })
 @Data
 @Builder
@@ -27,20 +29,24 @@ import java.util.Set;
 @AllArgsConstructor
 public class User {
 
+    public static final String UK_USERNAME = "uk_users_username";
+    public static final String UK_EMAIL = "uk_users_email";
+    public static final String UK_MOBILE_NUMBER = "uk_users_mobile_number";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String username;
 
     @Column(nullable = false)
     private String password; // BCrypt hashed
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
-    @Column(name = "mobile_number", unique = true, length = 15)
+    @Column(name = "mobile_number", length = 15)
     private String mobileNumber;
 
     @Column(nullable = false)
@@ -52,6 +58,9 @@ public class User {
     @Column(name = "failed_login_attempts")
     private int failedLoginAttempts = 0;
 
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil; // null while unlocked, or when locked until an administrator unlocks
+
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
@@ -0,0 +1,63 @@
+package com.app.login.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted progress of a bulk user import.
+ * Updated after every committed chunk, so after a crash or restart the last
+ * committed row is still known and the upload can be resumed from it.
+ */
+@Entity
+@Table(name = "user_import_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportJob {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(nullable = false, length = 20)
+    private String status; // RUNNING, COMPLETED, FAILED
+
+    @Column(name = "started_by", length = 100)
+    private String startedBy;
+
+    @Column(name = "rows_read", nullable = false)
+    private long rowsRead;
+
+    @Column(nullable = false)
+    private long imported;
+
+    @Column(nullable = false)
+    private long skipped;
+
+    @Column(nullable = false)
+    private long failed;
+
+    @Column(name = "last_committed_row", nullable = false)
+    private long lastCommittedRow;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String message;
+}
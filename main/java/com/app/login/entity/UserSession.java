@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
  * User session tracking for auto-logout functionality
  */
 @Entity
-@Table(name = "user_sessions")
+@Table(name = "user_sessions", indexes = {
+    @Index(name = "ux_user_sessions_token_digest", columnList = "token_digest", unique = true),
+    @Index(name = "ix_user_sessions_active_last_activity", columnList = "is_active, last_activity"),
+    @Index(name = "ix_user_sessions_logout_time", columnList = "logout_time")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,8 +31,11 @@ public class UserSession {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true)
-    private String sessionToken;
+    /**
+     * SHA-256 digest of the session's JWT; the raw token is never stored
+     */
+    @Column(name = "token_digest", length = 32, columnDefinition = "BINARY(32)")
+    private byte[] tokenDigest;
 
     @Column(name = "last_activity")
     private LocalDateTime lastActivity;
@@ -0,0 +1,15 @@
+package com.app.login.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Application event published after a bank configuration row is saved,
+ * so in-memory copies can be refreshed without waiting for the next poll
+ */
+@Data
+@AllArgsConstructor
+public class BankConfigurationChangedEvent {
+
+    private Long configurationId;
+}
@@ -0,0 +1,298 @@
+package com.app.login.event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of LoginEvent in protobuf wire format, following
+ * main/proto/login_event.proto. Hand-written rather than generated so the
+ * event keeps its single Lombok class and no protoc step is needed; the
+ * output is readable by any protobuf implementation of that schema.
+ *
+ * Compared with JSON the event id is 16 raw bytes, the event time a varint,
+ * the event type a one-byte enum and no field names are sent.
+ */
+public final class LoginEventCodec {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String JSON_CONTENT_TYPE = "application/json";
+    public static final String PROTOBUF_CONTENT_TYPE = "application/x-protobuf;schema=login_event.v1";
+
+    private static final int EVENT_UUID = 1;
+    private static final int USERNAME = 2;
+    private static final int USER_ID = 3;
+    private static final int EMAIL = 4;
+    private static final int EVENT_TYPE = 5;
+    private static final int EVENT_TIME_MICROS = 6;
+    private static final int IP_ADDRESS = 7;
+    private static final int USER_AGENT = 8;
+    private static final int EVENT_ID = 9;
+    private static final int EVENT_TYPE_NAME = 10;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+    private static final int WIRE_FIXED32 = 5;
+
+    // Index is the EventType enum number in the schema; 0 is EVENT_TYPE_UNSPECIFIED
+    private static final String[] EVENT_TYPES = {null, "LOGIN_SUCCESS", "LOGIN_FAILURE", "LOGOUT", "AUTO_LOGOUT"};
+
+    private LoginEventCodec() {
+    }
+
+    public static byte[] encode(LoginEvent event) {
+        Writer out = new Writer(96 + length(event.getUserAgent()) + length(event.getEmail()));
+
+        UUID uuid = parseUuid(event.getEventId());
+        if (uuid != null) {
+            out.tag(EVENT_UUID, WIRE_LENGTH_DELIMITED);
+            out.varint(16);
+            out.fixed64BigEndian(uuid.getMostSignificantBits());
+            out.fixed64BigEndian(uuid.getLeastSignificantBits());
+        } else {
+            out.string(EVENT_ID, event.getEventId());
+        }
+        out.string(USERNAME, event.getUsername());
+        if (event.getUserId() != null) {
+            out.tag(USER_ID, WIRE_VARINT);
+            out.varint(event.getUserId());
+        }
+        out.string(EMAIL, event.getEmail());
+
+        int eventType = eventTypeNumber(event.getEventType());
+        if (eventType > 0) {
+            out.tag(EVENT_TYPE, WIRE_VARINT);
+            out.varint(eventType);
+        } else {
+            out.string(EVENT_TYPE_NAME, event.getEventType());
+        }
+
+        if (event.getEventTime() != null) {
+            out.tag(EVENT_TIME_MICROS, WIRE_VARINT);
+            out.varint(toMicros(event.getEventTime()));
+        }
+        out.string(IP_ADDRESS, event.getIpAddress());
+        out.string(USER_AGENT, event.getUserAgent());
+        return out.toByteArray();
+    }
+
+    public static LoginEvent decode(byte[] data) {
+        LoginEvent event = new LoginEvent();
+        Reader in = new Reader(data);
+        while (in.hasRemaining()) {
+            long tag = in.varint();
+            int field = (int) (tag >>> 3);
+            int wireType = (int) (tag & 7);
+            switch (field) {
+                case EVENT_UUID -> {
+                    byte[] bytes = readBytes(in, wireType);
+                    if (bytes.length == 16) {
+                        event.setEventId(new UUID(readLong(bytes, 0), readLong(bytes, 8)).toString());
+                    }
+                }
+                case USERNAME -> event.setUsername(readString(in, wireType));
+                case USER_ID -> event.setUserId(readVarint(in, wireType));
+                case EMAIL -> event.setEmail(readString(in, wireType));
+                case EVENT_TYPE -> {
+                    long number = readVarint(in, wireType);
+                    if (number > 0 && number < EVENT_TYPES.length && event.getEventType() == null) {
+                        event.setEventType(EVENT_TYPES[(int) number]);
+                    }
+                }
+                case EVENT_TIME_MICROS -> event.setEventTime(fromMicros(readVarint(in, wireType)));
+                case IP_ADDRESS -> event.setIpAddress(readString(in, wireType));
+                case USER_AGENT -> event.setUserAgent(readString(in, wireType));
+                case EVENT_ID -> event.setEventId(readString(in, wireType));
+                case EVENT_TYPE_NAME -> event.setEventType(readString(in, wireType));
+                default -> in.skip(wireType);
+            }
+        }
+        return event;
+    }
+
+    private static int eventTypeNumber(String eventType) {
+        for (int i = 1; i < EVENT_TYPES.length; i++) {
+            if (EVENT_TYPES[i].equals(eventType)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value == null || value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            // Only use the binary form when it round-trips to the same string
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static long readVarint(Reader in, int wireType) {
+        expect(wireType, WIRE_VARINT);
+        return in.varint();
+    }
+
+    private static String readString(Reader in, int wireType) {
+        expect(wireType, WIRE_LENGTH_DELIMITED);
+        return in.string();
+    }
+
+    private static byte[] readBytes(Reader in, int wireType) {
+        expect(wireType, WIRE_LENGTH_DELIMITED);
+        return in.bytes();
+    }
+
+    private static void expect(int actual, int expected) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Unexpected wire type " + actual + ", expected " + expected);
+        }
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void tag(int field, int wireType) {
+            varint(((long) field << 3) | wireType);
+        }
+
+        private void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void fixed64BigEndian(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void string(int field, String value) {
+            if (value == null) {
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            tag(field, WIRE_LENGTH_DELIMITED);
+            varint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensure(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private boolean hasRemaining() {
+            return position < data.length;
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= data.length) {
+                    throw new IllegalArgumentException("Truncated varint");
+                }
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        private byte[] bytes() {
+            int length = length();
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private String string() {
+            int length = length();
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private int length() {
+            long length = varint();
+            if (length < 0 || length > data.length - position) {
+                throw new IllegalArgumentException("Truncated length-delimited field");
+            }
+            return (int) length;
+        }
+
+        private void skip(int wireType) {
+            switch (wireType) {
+                case WIRE_VARINT -> varint();
+                case WIRE_FIXED64 -> advance(8);
+                case WIRE_LENGTH_DELIMITED -> advance(length());
+                case WIRE_FIXED32 -> advance(4);
+                default -> throw new IllegalArgumentException("Unsupported wire type " + wireType);
+            }
+        }
+
+        private void advance(int count) {
+            if (count > data.length - position) {
+                throw new IllegalArgumentException("Truncated field");
+            }
+            position += count;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.app.login.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Kafka value deserializer for LoginEvent.
+ * Picks JSON or the protobuf encoding from each record's content-type header,
+ * so a consumer reads both formats while producers migrate. Records without
+ * the header are treated as JSON, as written before the header existed.
+ */
+public class LoginEventDeserializer implements Deserializer<LoginEvent> {
+
+    private final JsonDeserializer<LoginEvent> jsonDeserializer =
+            new JsonDeserializer<>(LoginEvent.class, false).trustedPackages("com.app.login.event");
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        // JSON target type is fixed to LoginEvent; nothing to configure
+    }
+
+    @Override
+    public LoginEvent deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public LoginEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Header contentType = headers != null ? headers.lastHeader(LoginEventCodec.CONTENT_TYPE_HEADER) : null;
+        if (contentType != null && new String(contentType.value(), StandardCharsets.US_ASCII)
+                .startsWith("application/x-protobuf")) {
+            return LoginEventCodec.decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
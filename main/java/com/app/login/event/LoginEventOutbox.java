@@ -0,0 +1,62 @@
+package com.app.login.event;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.login.entity.OutboxEvent;
+import com.app.login.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records login events in the transactional outbox.
+ * record() must run inside the caller's transaction, so an event exists
+ * exactly when the login or logout it describes commits. LoginEventRelay
+ * publishes the rows to Kafka afterwards, off the request path.
+ * Only active when Kafka is enabled
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class LoginEventOutbox {
+
+    private static final int MAX_USER_AGENT_LENGTH = 500;
+
+    private final OutboxEventRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(LoginEvent event) {
+        outboxRepository.save(OutboxEvent.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .username(event.getUsername())
+                .userId(event.getUserId())
+                .email(event.getEmail())
+                .ipAddress(event.getIpAddress())
+                .userAgent(truncate(event.getUserAgent(), MAX_USER_AGENT_LENGTH))
+                .eventTime(event.getEventTime())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    static LoginEvent toEvent(OutboxEvent row) {
+        return LoginEvent.builder()
+                .eventId(row.getEventId())
+                .eventType(row.getEventType())
+                .username(row.getUsername())
+                .userId(row.getUserId())
+                .email(row.getEmail())
+                .ipAddress(row.getIpAddress())
+                .userAgent(row.getUserAgent())
+                .eventTime(row.getEventTime())
+                .build();
+    }
+}
@@ -1,15 +1,19 @@
 package com.app.login.event;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Kafka event publisher for login events
- * Only active when Kafka is enabled
+ * Only active when Kafka is enabled. Called by LoginEventRelay, never on the
+ * request path; use LoginEventOutbox to record an event.
  */
 @Service
 @Slf4j
@@ -25,15 +29,14 @@ public class LoginEventPublisher {
     }
 
     /**
-     * Publish login event to Kafka
+     * Send a login event to Kafka, keyed by username so a user's events stay
+     * in order. Completes when the broker acknowledges the record.
      */
-    public void publishLoginEvent(LoginEvent event) {
-        try {
-            kafkaTemplate.send(TOPIC, event.getUsername(), event);
-            log.info("Published login event for user: {} with event type: {}", 
-                    event.getUsername(), event.getEventType());
-        } catch (Exception e) {
-            log.error("Failed to publish login event for user: {}", event.getUsername(), e);
+    public CompletableFuture<SendResult<String, LoginEvent>> send(LoginEvent event) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sending login event {} for user: {} with event type: {}",
+                    event.getEventId(), event.getUsername(), event.getEventType());
         }
+        return kafkaTemplate.send(TOPIC, event.getUsername(), event);
     }
 }
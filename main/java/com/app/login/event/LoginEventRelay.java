@@ -0,0 +1,248 @@
+package com.app.login.event;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.login.entity.OutboxEvent;
+import com.app.login.metrics.AuthMetrics;
+import com.app.login.repository.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes outbox rows to Kafka in batches.
+ * Each batch is claimed in a short transaction (SKIP LOCKED, then a
+ * claimed_until lease) so several instances can relay side by side without
+ * holding row locks or a transaction while waiting on the broker. The batch
+ * is then sent without waiting record by record (the producer batches and
+ * compresses them), and a second short transaction marks the acknowledged
+ * rows published and releases the rest. Unacknowledged rows, including sends
+ * that fail synchronously, stay in the outbox and are retried once the
+ * retry backoff has passed; after max-attempts failed sends a row is
+ * dead-lettered (failed_at set, logged and counted) and no longer retried or
+ * counted in the backlog. If an instance dies mid-batch its lease expires and
+ * another instance takes the rows over. Delivery is at least once; consumers
+ * de-duplicate on eventId.
+ * Only active when Kafka is enabled
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class LoginEventRelay {
+
+    private final OutboxEventRepository outboxRepository;
+    private final LoginEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthMetrics metrics;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+    private final long claimLeaseMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long lagWarnThresholdMillis;
+    private final long retentionMillis;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private volatile long backlog;
+    private volatile long lagMillis;
+
+    public LoginEventRelay(OutboxEventRepository outboxRepository, LoginEventPublisher publisher,
+                           TransactionTemplate transactionTemplate, AuthMetrics metrics,
+                           @Value("${outbox.relay.batch-size:500}") int batchSize,
+                           @Value("${outbox.relay.send-timeout:10000}") long sendTimeoutMillis,
+                           @Value("${outbox.relay.claim-lease:60000}") long claimLeaseMillis,
+                           @Value("${outbox.relay.max-attempts:20}") int maxAttempts,
+                           @Value("${outbox.relay.retry-backoff:30000}") long retryBackoffMillis,
+                           @Value("${outbox.relay.lag-warn-threshold:60000}") long lagWarnThresholdMillis,
+                           @Value("${outbox.retention:86400000}") long retentionMillis) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        // A sync send may block for max.block.ms past the deadline; the lease must outlast both
+        if (claimLeaseMillis <= 2 * sendTimeoutMillis) {
+            throw new IllegalArgumentException("outbox.relay.claim-lease must be more than twice outbox.relay.send-timeout");
+        }
+        this.claimLeaseMillis = claimLeaseMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.lagWarnThresholdMillis = lagWarnThresholdMillis;
+        this.retentionMillis = retentionMillis;
+    }
+
+    /**
+     * Drain the outbox until a batch comes back short or a send fails
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+        updateLag();
+    }
+
+    /**
+     * Delete rows that were published longer ago than the retention period
+     */
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval:3600000}")
+    public void purgePublished() {
+        LocalDateTime before = LocalDateTime.now().minus(Duration.ofMillis(retentionMillis));
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published login events from the outbox", deleted);
+        }
+    }
+
+    /**
+     * @return number of events published, or 0 if any send failed so the relay backs off
+     */
+    private int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        long started = metrics.start();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent row : batch) {
+            if (System.nanoTime() - deadline >= 0) {
+                break; // sends are blocking (e.g. on metadata); leave the rest for the next run
+            }
+            try {
+                sends.add(publisher.send(LoginEventOutbox.toEvent(row)));
+            } catch (RuntimeException e) {
+                // max.block.ms expiry, serialization and buffer errors are thrown, not returned
+                log.debug("Login event {} could not be sent: {}", row.getEventId(), e.getMessage());
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<Long> undelivered = new ArrayList<>();
+        List<OutboxEvent> exhausted = new ArrayList<>();
+        for (int i = 0; i < sends.size(); i++) {
+            OutboxEvent row = batch.get(i);
+            boolean acknowledged = false;
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged = true;
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Login event {} was not acknowledged: {}", row.getEventId(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (acknowledged) {
+                delivered.add(row.getId());
+            } else if (row.getAttempts() + 1 >= maxAttempts) {
+                exhausted.add(row);
+            } else {
+                undelivered.add(row.getId());
+            }
+        }
+        List<Long> unsent = batch.subList(sends.size(), batch.size()).stream().map(OutboxEvent::getId).toList();
+
+        metrics.record(AuthMetrics.Phase.OUTBOX_KAFKA_SEND, started);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!delivered.isEmpty()) {
+                outboxRepository.markPublished(delivered, now);
+            }
+            if (!undelivered.isEmpty()) {
+                outboxRepository.recordFailedAttempt(undelivered, now.plus(Duration.ofMillis(retryBackoffMillis)));
+            }
+            if (!exhausted.isEmpty()) {
+                outboxRepository.markFailed(exhausted.stream().map(OutboxEvent::getId).toList(), now);
+            }
+            if (!unsent.isEmpty()) {
+                outboxRepository.release(unsent);
+            }
+        });
+        published.add(delivered.size());
+        for (OutboxEvent row : exhausted) {
+            log.error("Login event {} ({} for {}) dead-lettered after {} failed sends",
+                    row.getEventId(), row.getEventType(), row.getUsername(), row.getAttempts() + 1);
+        }
+        deadLettered.add(exhausted.size());
+
+        if (!undelivered.isEmpty() || !exhausted.isEmpty() || !unsent.isEmpty()) {
+            failed.add(undelivered.size() + exhausted.size());
+            log.warn("{} of {} login events were not acknowledged by Kafka and {} were not sent; they will be retried",
+                    undelivered.size(), batch.size(), unsent.size());
+            return 0;
+        }
+        return delivered.size();
+    }
+
+    /**
+     * Lock the oldest unclaimed rows and lease them to this instance. The
+     * transaction, and with it the row locks, ends before anything is sent.
+     */
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxRepository.lockClaimable(now, PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            outboxRepository.claim(batch.stream().map(OutboxEvent::getId).toList(),
+                    now.plus(Duration.ofMillis(claimLeaseMillis)));
+        }
+        return batch;
+    }
+
+    private void updateLag() {
+        backlog = outboxRepository.countByPublishedAtIsNullAndFailedAtIsNull();
+        LocalDateTime oldest = backlog > 0 ? outboxRepository.findOldestUnpublishedCreatedAt() : null;
+        lagMillis = oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()) : 0;
+        if (lagMillis > lagWarnThresholdMillis) {
+            log.warn("Login event outbox is {} ms behind with {} unpublished events", lagMillis, backlog);
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Events given up on after max-attempts failed sends
+     */
+    public long getDeadLetteredCount() {
+        return deadLettered.sum();
+    }
+
+    /**
+     * Unpublished events still being retried as of the last relay run
+     */
+    public long getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Age in milliseconds of the oldest unpublished event as of the last relay run
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
@@ -0,0 +1,67 @@
+package com.app.login.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Kafka value serializer for LoginEvent.
+ * Writes JSON (the default) or the compact protobuf encoding from
+ * LoginEventCodec, chosen by the login-event.format producer property, and
+ * tags every record with a content-type header so consumers can tell the
+ * formats apart.
+ */
+public class LoginEventSerializer implements Serializer<LoginEvent> {
+
+    public static final String FORMAT_CONFIG = "login-event.format";
+
+    public enum Format {
+        JSON, PROTOBUF
+    }
+
+    private final JsonSerializer<LoginEvent> jsonSerializer = new JsonSerializer<>();
+    private Format format = Format.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object configured = configs.get(FORMAT_CONFIG);
+        if (configured != null) {
+            format = Format.valueOf(configured.toString().trim().toUpperCase(Locale.ROOT));
+        }
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, LoginEvent event) {
+        return serialize(topic, null, event);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, LoginEvent event) {
+        if (event == null) {
+            return null;
+        }
+        if (format == Format.PROTOBUF) {
+            setContentType(headers, LoginEventCodec.PROTOBUF_CONTENT_TYPE);
+            return LoginEventCodec.encode(event);
+        }
+        setContentType(headers, LoginEventCodec.JSON_CONTENT_TYPE);
+        return headers != null ? jsonSerializer.serialize(topic, headers, event) : jsonSerializer.serialize(topic, event);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+
+    private static void setContentType(Headers headers, String contentType) {
+        if (headers != null) {
+            headers.remove(LoginEventCodec.CONTENT_TYPE_HEADER);
+            headers.add(LoginEventCodec.CONTENT_TYPE_HEADER, contentType.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
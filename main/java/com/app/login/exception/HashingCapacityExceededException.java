@@ -0,0 +1,15 @@
+package com.app.login.exception;
+
+/**
+ * Thrown when the password hashing executor is saturated and a request is shed
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+
+    public HashingCapacityExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
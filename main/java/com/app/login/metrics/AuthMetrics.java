@@ -0,0 +1,156 @@
+package com.app.login.metrics;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Latency timers for the authentication pipeline.
+ * Every timer is registered up front with a fixed, low-cardinality tag set, so
+ * recording is an array lookup and a nanoTime difference: no meter lookup, tag
+ * allocation or Timer.Sample per call. Callers take {@link #start()} and pass it
+ * back to {@link #record}; with metrics.auth.enabled=false both are no-ops.
+ */
+@Component
+public class AuthMetrics {
+
+    public static final String OPERATION_TIMER = "auth.operation";
+    public static final String PHASE_TIMER = "auth.phase";
+
+    /**
+     * Whole operations, tagged with how they ended
+     */
+    public enum Operation {
+        LOGIN(Outcome.SUCCESS, Outcome.FAILURE, Outcome.THROTTLED),
+        REGISTER(Outcome.SUCCESS, Outcome.FAILURE),
+        LOGOUT(Outcome.SUCCESS, Outcome.FAILURE),
+        VALIDATE_TOKEN(Outcome.SUCCESS, Outcome.FAILURE),
+        FILTER(Outcome.SUCCESS, Outcome.FAILURE, Outcome.ANONYMOUS);
+
+        private final Outcome[] outcomes;
+
+        Operation(Outcome... outcomes) {
+            this.outcomes = outcomes;
+        }
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS, FAILURE, THROTTLED, ANONYMOUS;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Steps within an operation. Audit and outbox phases are shared by every
+     * operation that writes them, so they carry their own operation tag.
+     */
+    public enum Phase {
+        LOGIN_THROTTLE("login", "throttle"),
+        LOGIN_USER_LOOKUP("login", "user_lookup"),
+        LOGIN_PASSWORD_VERIFY("login", "password_verify"),
+        LOGIN_FAILURE_RECORD("login", "failure_record"),
+        LOGIN_COMPLETE("login", "complete"),
+        LOGIN_TOKEN_ISSUE("login", "token_issue"),
+        LOGIN_SESSION_INSERT("login", "session_insert"),
+        REGISTER_IDENTITY_CHECK("register", "identity_check"),
+        REGISTER_PASSWORD_HASH("register", "password_hash"),
+        REGISTER_USER_INSERT("register", "user_insert"),
+        LOGOUT_TOKEN_VERIFY("logout", "token_verify"),
+        LOGOUT_SESSION_CLOSE("logout", "session_close"),
+        VALIDATE_TOKEN_VERIFY("validate_token", "token_verify"),
+        VALIDATE_TOKEN_USER_LOOKUP("validate_token", "user_lookup"),
+        FILTER_TOKEN_VERIFY("filter", "token_verify"),
+        FILTER_PRINCIPAL_LOAD("filter", "principal_load"),
+        AUDIT_ENQUEUE("audit", "enqueue"),
+        OUTBOX_RECORD("outbox", "record"),
+        OUTBOX_KAFKA_SEND("outbox", "kafka_send");
+
+        private final String operation;
+        private final String phase;
+
+        Phase(String operation, String phase) {
+            this.operation = operation;
+            this.phase = phase;
+        }
+    }
+
+    private final boolean enabled;
+    private final Timer[][] operationTimers;
+    private final Timer[] phaseTimers;
+
+    public AuthMetrics(MeterRegistry registry,
+                       @Value("${metrics.auth.enabled:true}") boolean enabled,
+                       @Value("${metrics.auth.percentile-histogram:true}") boolean percentileHistogram) {
+        this.enabled = enabled;
+        this.operationTimers = new Timer[Operation.values().length][Outcome.values().length];
+        this.phaseTimers = new Timer[Phase.values().length];
+        if (!enabled) {
+            return;
+        }
+        for (Operation operation : Operation.values()) {
+            for (Outcome outcome : operation.outcomes) {
+                operationTimers[operation.ordinal()][outcome.ordinal()] = timer(OPERATION_TIMER, percentileHistogram)
+                        .description("Authentication operation latency")
+                        .tag("operation", operation.tag())
+                        .tag("outcome", outcome.tag())
+                        .register(registry);
+            }
+        }
+        for (Phase phase : Phase.values()) {
+            phaseTimers[phase.ordinal()] = timer(PHASE_TIMER, percentileHistogram)
+                    .description("Latency of one phase of an authentication operation")
+                    .tag("operation", phase.operation)
+                    .tag("phase", phase.phase)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Histogram buckets are bounded to the range auth latencies actually fall in,
+     * which keeps each timer to a few dozen Prometheus series
+     */
+    private static Timer.Builder timer(String name, boolean percentileHistogram) {
+        return Timer.builder(name)
+                .publishPercentileHistogram(percentileHistogram)
+                .minimumExpectedValue(Duration.ofNanos(50_000))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void record(Phase phase, long startNanos) {
+        if (enabled) {
+            phaseTimers[phase.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Record an operation; outcomes the operation does not declare are ignored
+     */
+    public void record(Operation operation, Outcome outcome, long startNanos) {
+        if (enabled) {
+            Timer timer = operationTimers[operation.ordinal()][outcome.ordinal()];
+            if (timer != null) {
+                timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
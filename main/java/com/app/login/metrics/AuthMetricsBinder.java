@@ -0,0 +1,146 @@
+package com.app.login.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.login.audit.AuditLogWriter;
+import com.app.login.cache.PrincipalCache;
+import com.app.login.cache.VerifiedTokenCache;
+import com.app.login.event.LoginEventRelay;
+import com.app.login.repository.UserSessionRepository;
+import com.app.login.security.LoginThrottle;
+import com.app.login.service.PasswordHashingService;
+import com.app.login.service.SessionActivityTracker;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gauges and counters over state the login service already keeps: queue
+ * depths, cache and throttle counters and the outbox backlog. They are read
+ * at scrape time from existing fields, except the active session count, which
+ * needs a query and is refreshed on its own schedule instead of per scrape.
+ */
+@Component
+@Slf4j
+public class AuthMetricsBinder implements MeterBinder {
+
+    private final UserSessionRepository sessionRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottle loginThrottle;
+    private final PrincipalCache principalCache;
+    private final VerifiedTokenCache tokenCache;
+    private final SessionActivityTracker activityTracker;
+    private final ObjectProvider<LoginEventRelay> eventRelay;
+
+    private volatile long activeSessions;
+
+    public AuthMetricsBinder(UserSessionRepository sessionRepository, AuditLogWriter auditLogWriter,
+                             PasswordHashingService passwordHashingService, LoginThrottle loginThrottle,
+                             PrincipalCache principalCache, VerifiedTokenCache tokenCache,
+                             SessionActivityTracker activityTracker, ObjectProvider<LoginEventRelay> eventRelay) {
+        this.sessionRepository = sessionRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.passwordHashingService = passwordHashingService;
+        this.loginThrottle = loginThrottle;
+        this.principalCache = principalCache;
+        this.tokenCache = tokenCache;
+        this.activityTracker = activityTracker;
+        this.eventRelay = eventRelay;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.sessions.active", this, binder -> binder.activeSessions)
+                .description("Active user sessions as of the last refresh")
+                .register(registry);
+        Gauge.builder("session.activity.tracked", activityTracker, SessionActivityTracker::getTrackedCount)
+                .description("Sessions with last_activity updates waiting to be flushed")
+                .register(registry);
+
+        Gauge.builder("audit.writer.queue.depth", auditLogWriter, AuditLogWriter::getQueueDepth)
+                .description("Audit events waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.events", auditLogWriter, AuditLogWriter::getWrittenCount)
+                .tag("result", "written")
+                .register(registry);
+        FunctionCounter.builder("audit.writer.events", auditLogWriter, AuditLogWriter::getDroppedCount)
+                .tag("result", "dropped")
+                .register(registry);
+
+        Gauge.builder("password.hashing.queue.depth", passwordHashingService, PasswordHashingService::getQueueDepth)
+                .description("Password hashes waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("password.hashing.active", passwordHashingService, PasswordHashingService::getActiveCount)
+                .register(registry);
+
+        FunctionCounter.builder("login.throttle.decisions", loginThrottle, LoginThrottle::getAllowedCount)
+                .tag("result", "allowed")
+                .register(registry);
+        FunctionCounter.builder("login.throttle.decisions", loginThrottle, LoginThrottle::getRejectedByIpCount)
+                .tag("result", "rejected_ip")
+                .register(registry);
+        FunctionCounter.builder("login.throttle.decisions", loginThrottle, LoginThrottle::getRejectedByIdentifierCount)
+                .tag("result", "rejected_identifier")
+                .register(registry);
+
+        bindCache(registry, "principal", principalCache, PrincipalCache::getHitCount,
+                PrincipalCache::getMissCount, PrincipalCache::size);
+        bindCache(registry, "token", tokenCache, VerifiedTokenCache::getHitCount,
+                VerifiedTokenCache::getMissCount, VerifiedTokenCache::size);
+
+        LoginEventRelay relay = eventRelay.getIfAvailable();
+        if (relay != null) {
+            Gauge.builder("outbox.backlog", relay, LoginEventRelay::getBacklog)
+                    .description("Unpublished login events as of the last relay run")
+                    .register(registry);
+            TimeGauge.builder("outbox.lag", relay, TimeUnit.MILLISECONDS, LoginEventRelay::getLagMillis)
+                    .description("Age of the oldest unpublished login event as of the last relay run")
+                    .register(registry);
+            FunctionCounter.builder("outbox.events", relay, LoginEventRelay::getPublishedCount)
+                    .tag("result", "published")
+                    .register(registry);
+            FunctionCounter.builder("outbox.events", relay, LoginEventRelay::getFailedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("outbox.events", relay, LoginEventRelay::getDeadLetteredCount)
+                    .tag("result", "dead_lettered")
+                    .register(registry);
+        }
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, String cache, T source,
+                                      ToDoubleFunction<T> hits, ToDoubleFunction<T> misses,
+                                      ToDoubleFunction<T> size) {
+        FunctionCounter.builder("auth.cache.requests", source, hits)
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.cache.requests", source, misses)
+                .tag("cache", cache)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("auth.cache.size", source, size)
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.auth.active-sessions-refresh:30000}")
+    public void refreshActiveSessions() {
+        try {
+            activeSessions = sessionRepository.countByActiveTrue();
+        } catch (Exception e) {
+            log.warn("Could not refresh the active session count", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.app.login.repository;
+
+import com.app.login.entity.AuditLogHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AuditLogHourlyRollupRepository extends JpaRepository<AuditLogHourlyRollup, LocalDateTime> {
+
+    List<AuditLogHourlyRollup> findByHourStartBetweenOrderByHourStart(LocalDateTime from, LocalDateTime to);
+
+    @Query("select max(r.hourStart) from AuditLogHourlyRollup r")
+    LocalDateTime findLatestHourStart();
+}
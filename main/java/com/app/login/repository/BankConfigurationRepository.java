@@ -4,10 +4,14 @@ import com.app.login.entity.BankConfiguration;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface BankConfigurationRepository extends JpaRepository<BankConfiguration, Long> {
     
-    Optional<BankConfiguration> findByActiveTrue();
+    List<BankConfiguration> findAllByActiveTrue();
+
+    List<BankConfiguration> findByTenantIdIsNull();
+
+    boolean existsByTenantId(String tenantId);
 }
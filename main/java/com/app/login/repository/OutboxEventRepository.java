@@ -0,0 +1,72 @@
+package com.app.login.repository;
+
+import com.app.login.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest unpublished, not dead-lettered events with no live claim, locked for the current transaction.
+     * Rows locked by another relay instance are skipped rather than waited on.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.publishedAt is null and e.failedAt is null "
+            + "and (e.claimedUntil is null or e.claimedUntil < :now) order by e.id")
+    List<OutboxEvent> lockClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = :claimedUntil where e.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :publishedAt, e.attempts = e.attempts + 1, "
+            + "e.claimedUntil = null where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Count a failed send and keep the rows claimed until the retry is due, so
+     * a failing row is not picked up again on every relay run
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.claimedUntil = :retryAt where e.id in :ids")
+    int recordFailedAttempt(@Param("ids") Collection<Long> ids, @Param("retryAt") LocalDateTime retryAt);
+
+    /**
+     * Count a final failed send and take the rows out of the relay for good
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.failedAt = :failedAt, e.claimedUntil = null "
+            + "where e.id in :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("failedAt") LocalDateTime failedAt);
+
+    /**
+     * Give up claims on rows that were never sent
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = null where e.id in :ids")
+    int release(@Param("ids") Collection<Long> ids);
+
+    long countByPublishedAtIsNullAndFailedAtIsNull();
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.publishedAt is null and e.failedAt is null")
+    LocalDateTime findOldestUnpublishedCreatedAt();
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,30 @@
+package com.app.login.repository;
+
+import com.app.login.entity.UserImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, String> {
+
+    @Modifying
+    @Transactional
+    @Query("update UserImportJob j set j.rowsRead = :rowsRead, j.imported = :imported, j.skipped = :skipped, "
+            + "j.failed = :failed, j.lastCommittedRow = :lastCommittedRow, j.updatedAt = :updatedAt where j.id = :id")
+    int recordProgress(@Param("id") String id, @Param("rowsRead") long rowsRead, @Param("imported") long imported,
+                       @Param("skipped") long skipped, @Param("failed") long failed,
+                       @Param("lastCommittedRow") long lastCommittedRow, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("update UserImportJob j set j.status = :status, j.message = :message, j.finishedAt = :finishedAt, "
+            + "j.updatedAt = :finishedAt where j.id = :id")
+    int finish(@Param("id") String id, @Param("status") String status, @Param("message") String message,
+               @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -1,13 +1,25 @@
 package com.app.login.repository;
 
 import com.app.login.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    String FIELD_USERNAME = "username";
+    String FIELD_EMAIL = "email";
+    String FIELD_MOBILE_NUMBER = "mobile_number";
     
     Optional<User> findByUsername(String username);
     
@@ -16,10 +28,133 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByMobileNumber(String mobileNumber);
     
     Optional<User> findByUsernameOrEmailOrMobileNumber(String username, String email, String mobileNumber);
+
+    // Single-index login lookups that load the user and roles in one fetch-join query
+
+    @Query("select distinct u from User u left join fetch u.roles where u.username = :username")
+    Optional<User> findWithRolesByUsername(@Param("username") String username);
+
+    @Query("select distinct u from User u left join fetch u.roles where u.email = :email")
+    Optional<User> findWithRolesByEmail(@Param("email") String email);
+
+    @Query("select distinct u from User u left join fetch u.roles where u.mobileNumber = :mobileNumber")
+    Optional<User> findWithRolesByMobileNumber(@Param("mobileNumber") String mobileNumber);
     
+    /**
+     * Usernames that predate the registration rule and look like an email or
+     * a mobile number, so login routes them away from the username index.
+     * The patterns avoid '?', which native queries would read as a parameter.
+     */
+    @Query(value = "SELECT COUNT(*) FROM users "
+            + "WHERE username LIKE '%@%' OR REGEXP_LIKE(username, '^[+]{0,1}[0-9]{10,15}$')", nativeQuery = true)
+    long countLegacyShapedUsernames();
+
+    /**
+     * Mobile numbers that predate the registration rule (spaces, dashes, ...),
+     * so login routes them to the username index
+     */
+    @Query(value = "SELECT COUNT(*) FROM users "
+            + "WHERE mobile_number IS NOT NULL AND NOT REGEXP_LIKE(mobile_number, '^[+]{0,1}[0-9]{10,15}$')",
+            nativeQuery = true)
+    long countLegacyShapedMobileNumbers();
+
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
     
     boolean existsByMobileNumber(String mobileNumber);
+
+    /**
+     * Which of the given identifiers are already taken, in one round trip, as
+     * FIELD_* tags. Each branch of the UNION ALL is served by its own unique
+     * index and matches under the column's collation, so callers never have
+     * to compare the values themselves.
+     */
+    @Query(value = "SELECT 'username' AS field FROM users WHERE username = :username "
+            + "UNION ALL SELECT 'email' AS field FROM users WHERE email = :email "
+            + "UNION ALL SELECT 'mobile_number' AS field FROM users WHERE mobile_number = :mobileNumber",
+            nativeQuery = true)
+    List<String> findConflictingIdentityFields(@Param("username") String username,
+                                               @Param("email") String email,
+                                               @Param("mobileNumber") String mobileNumber);
+
+    /**
+     * Existing users that collide with any identifier in a batch of candidates
+     */
+    @Query("select u.username as username, u.email as email, u.mobileNumber as mobileNumber from User u "
+            + "where u.username in :usernames or u.email in :emails or u.mobileNumber in :mobileNumbers")
+    List<UserIdentityView> findIdentityConflicts(@Param("usernames") Collection<String> usernames,
+                                                 @Param("emails") Collection<String> emails,
+                                                 @Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    /**
+     * Resolve ids for many usernames in a single IN query
+     */
+    @Query("select u.id as id, u.username as username from User u where u.username in :usernames")
+    List<UserIdView> findIdsByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Replace a password hash only if it has not changed since it was read
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    /**
+     * Count a failed login and lock the account when the count reaches the threshold,
+     * in one statement. The lock columns are assigned before the counter so MySQL's
+     * left-to-right SET evaluation and standard SQL both see the old count.
+     * Already locked accounts are not counted, so the count stops at the threshold.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET " +
+            "account_locked = CASE WHEN failed_login_attempts + 1 >= :threshold THEN TRUE ELSE account_locked END, " +
+            "locked_until = CASE WHEN failed_login_attempts + 1 >= :threshold THEN :lockedUntil ELSE locked_until END, " +
+            "failed_login_attempts = failed_login_attempts + 1 " +
+            "WHERE id = :id AND account_locked = FALSE", nativeQuery = true)
+    int recordFailedLogin(@Param("id") Long id, @Param("threshold") int threshold,
+                          @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Query("select u.accountLocked from User u where u.id = :id")
+    boolean findAccountLockedById(@Param("id") Long id);
+
+    /**
+     * Reset the failure count and record the login time without rewriting the whole row
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.failedLoginAttempts = 0, u.lastLogin = :lastLogin where u.id = :id")
+    int recordSuccessfulLogin(@Param("id") Long id, @Param("lastLogin") LocalDateTime lastLogin);
+
+    /**
+     * Unlock one account if its lock has expired
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.accountLocked = false, u.failedLoginAttempts = 0, u.lockedUntil = null " +
+           "where u.id = :id and u.accountLocked = true and u.lockedUntil <= :now")
+    int unlockIfExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Accounts whose lock has expired, as a range scan on ix_users_locked_until
+     */
+    @Query("select u.id as id, u.username as username from User u " +
+           "where u.lockedUntil <= :now and u.accountLocked = true")
+    List<UserIdView> findAccountsWithExpiredLock(@Param("now") LocalDateTime now, Pageable pageable);
+
+    interface UserIdentityView {
+        String getUsername();
+
+        String getEmail();
+
+        String getMobileNumber();
+    }
+
+    interface UserIdView {
+        Long getId();
+
+        String getUsername();
+    }
 }
@@ -3,20 +3,61 @@ package com.app.login.repository;
 import com.app.login.entity.User;
 import com.app.login.entity.UserSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
     
-    Optional<UserSession> findBySessionToken(String sessionToken);
+    Optional<UserSession> findByTokenDigest(byte[] tokenDigest);
     
     List<UserSession> findByUserAndActiveTrue(User user);
     
     List<UserSession> findByActiveTrueAndLastActivityBefore(LocalDateTime threshold);
     
     void deleteByUser(User user);
+
+    /**
+     * Served from ix_user_sessions_active_last_activity without touching the rows
+     */
+    long countByActiveTrue();
+
+    /**
+     * Ids of one page of idle sessions, row-locked until the transaction ends.
+     * Only user_sessions rows are locked; rows locked elsewhere (e.g. by a
+     * logout or another instance's sweep) are skipped rather than waited on.
+     */
+    @Query(value = "SELECT id FROM user_sessions WHERE is_active = true AND last_activity < :threshold "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockIdleSessionIds(@Param("threshold") LocalDateTime threshold, @Param("limit") int limit);
+
+    /**
+     * Active sessions among the given ids, projected to what auto-logout needs
+     */
+    @Query("select s.id as id, u.username as username, s.tokenDigest as tokenDigest, s.loginTime as loginTime "
+            + "from UserSession s join s.user u "
+            + "where s.id in :ids and s.active = true order by s.id")
+    List<ExpiredSessionView> findActiveSessionViews(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update UserSession s set s.active = false, s.logoutTime = :logoutTime "
+            + "where s.id in :ids and s.active = true")
+    int deactivateSessions(@Param("ids") Collection<Long> ids, @Param("logoutTime") LocalDateTime logoutTime);
+
+    interface ExpiredSessionView {
+        Long getId();
+
+        String getUsername();
+
+        byte[] getTokenDigest();
+
+        LocalDateTime getLoginTime();
+    }
 }
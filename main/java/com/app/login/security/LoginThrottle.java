@@ -0,0 +1,99 @@
+package com.app.login.security;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.login.exception.LoginThrottledException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory credential-stuffing throttle for /login.
+ * Runs before the user lookup and before any password hashing, so sprayed
+ * attempts cost neither a query nor a BCrypt verify. Attempts are counted
+ * per client IP and per login identifier over a sliding window, in
+ * fixed-size approximate sketches, and an attempt over either limit is
+ * rejected with the time until the window rolls over.
+ *
+ * The client IP is request.getRemoteAddr(), which server.forward-headers-strategy
+ * resolves to the real client behind the trusted proxies, rather than
+ * trusting X-Forwarded-For here.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final int maxPerIp;
+    private final int maxPerIdentifier;
+    private final SlidingWindowSketch ipAttempts;
+    private final SlidingWindowSketch identifierAttempts;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByIdentifier = new LongAdder();
+
+    public LoginThrottle(@Value("${security.throttle.enabled:true}") boolean enabled,
+                         @Value("${security.throttle.window:60000}") long windowMillis,
+                         @Value("${security.throttle.max-per-ip:60}") int maxPerIp,
+                         @Value("${security.throttle.max-per-identifier:10}") int maxPerIdentifier,
+                         @Value("${security.throttle.sketch-depth:4}") int sketchDepth,
+                         @Value("${security.throttle.sketch-width:65536}") int sketchWidth) {
+        this.enabled = enabled;
+        this.maxPerIp = maxPerIp;
+        this.maxPerIdentifier = maxPerIdentifier;
+        this.ipAttempts = new SlidingWindowSketch(sketchDepth, sketchWidth, windowMillis);
+        this.identifierAttempts = new SlidingWindowSketch(sketchDepth, sketchWidth, windowMillis);
+    }
+
+    /**
+     * Admit a login attempt or throw LoginThrottledException
+     */
+    public void check(String clientIp, String identifier) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String normalizedIdentifier = identifier != null ? identifier.trim().toLowerCase(Locale.ROOT) : null;
+
+        if (clientIp != null && ipAttempts.estimate(clientIp, now) >= maxPerIp) {
+            rejectedByIp.increment();
+            log.debug("Login throttled for IP {}", clientIp);
+            throw new LoginThrottledException("Too many login attempts. Please try again later.",
+                    retryAfterSeconds(ipAttempts, now));
+        }
+        if (normalizedIdentifier != null && identifierAttempts.estimate(normalizedIdentifier, now) >= maxPerIdentifier) {
+            rejectedByIdentifier.increment();
+            log.debug("Login throttled for identifier {}", normalizedIdentifier);
+            throw new LoginThrottledException("Too many login attempts. Please try again later.",
+                    retryAfterSeconds(identifierAttempts, now));
+        }
+
+        if (clientIp != null) {
+            ipAttempts.increment(clientIp, now);
+        }
+        if (normalizedIdentifier != null) {
+            identifierAttempts.increment(normalizedIdentifier, now);
+        }
+        allowed.increment();
+    }
+
+    private static long retryAfterSeconds(SlidingWindowSketch sketch, long now) {
+        return Math.max(1, (sketch.millisUntilWindowEnd(now) + 999) / 1000);
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedByIpCount() {
+        return rejectedByIp.sum();
+    }
+
+    public long getRejectedByIdentifierCount() {
+        return rejectedByIdentifier.sum();
+    }
+}
@@ -0,0 +1,103 @@
+package com.app.login.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Current password hashing policy: which algorithm new hashes use and at what cost.
+ * Hashes are stored with an {id} prefix so several algorithms can coexist;
+ * legacy hashes without a prefix are treated as BCrypt. needsRehash reports
+ * any stored hash whose algorithm or cost differs from the policy, in either
+ * direction, so it can be replaced after the next successful login.
+ */
+@Component
+public class PasswordHashPolicy {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final Pattern ARGON2_PARAMS = Pattern.compile("\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$");
+
+    private final String algorithm;
+    private final int bcryptStrength;
+    private final int argon2MemoryKib;
+    private final int argon2Iterations;
+    private final int argon2Parallelism;
+
+    public PasswordHashPolicy(@Value("${security.password.algorithm:bcrypt}") String algorithm,
+                              @Value("${security.password.bcrypt-strength:12}") int bcryptStrength,
+                              @Value("${security.password.argon2.memory:16384}") int argon2MemoryKib,
+                              @Value("${security.password.argon2.iterations:2}") int argon2Iterations,
+                              @Value("${security.password.argon2.parallelism:1}") int argon2Parallelism) {
+        if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        }
+        this.algorithm = algorithm;
+        this.bcryptStrength = bcryptStrength;
+        this.argon2MemoryKib = argon2MemoryKib;
+        this.argon2Iterations = argon2Iterations;
+        this.argon2Parallelism = argon2Parallelism;
+    }
+
+    /**
+     * Build the delegating encoder for this policy
+     */
+    public PasswordEncoder createEncoder() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, argon2Iterations));
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes written before the {id} prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Whether a stored hash should be replaced with one produced under the current policy
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        // Unprefixed legacy hashes are always rewritten so they gain an {id}
+        int end = encodedPassword.indexOf('}');
+        if (!encodedPassword.startsWith("{") || end < 0) {
+            return true;
+        }
+        String id = encodedPassword.substring(1, end);
+        String hash = encodedPassword.substring(end + 1);
+
+        if (!algorithm.equals(id)) {
+            return true;
+        }
+        if (BCRYPT.equals(id)) {
+            Matcher matcher = BCRYPT_COST.matcher(hash);
+            return !matcher.find() || Integer.parseInt(matcher.group(1)) != bcryptStrength;
+        }
+        Matcher matcher = ARGON2_PARAMS.matcher(hash);
+        return !matcher.find()
+                || Integer.parseInt(matcher.group(1)) != argon2MemoryKib
+                || Integer.parseInt(matcher.group(2)) != argon2Iterations
+                || Integer.parseInt(matcher.group(3)) != argon2Parallelism;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+}
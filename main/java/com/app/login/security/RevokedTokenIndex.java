@@ -0,0 +1,122 @@
+package com.app.login.security;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.login.config.SessionTokenDigestMigration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory set of revoked session tokens, keyed by token digest.
+ * Populated on logout and auto-logout, rebuilt from user_sessions at startup
+ * and kept in sync with other instances by a periodic background query, so
+ * the per-request check is a single hash lookup with no database access.
+ * Entries are pruned once the token would have expired anyway.
+ * Depends on SessionTokenDigestMigration so legacy sessions have digests
+ * before the startup rebuild reads them. While session_token still exists,
+ * sessions ended on instances of the previous version may not have a digest
+ * yet, so those are read by their raw token as well.
+ */
+@Component
+@DependsOn("sessionTokenDigestMigration")
+@Slf4j
+public class RevokedTokenIndex implements SmartInitializingSingleton {
+
+    private static final String REVOKED_SINCE_SQL =
+            "SELECT token_digest, login_time FROM user_sessions "
+                    + "WHERE is_active = false AND token_digest IS NOT NULL AND logout_time > ? AND login_time > ?";
+    private static final String LEGACY_REVOKED_SINCE_SQL =
+            "SELECT session_token, login_time FROM user_sessions "
+                    + "WHERE is_active = false AND token_digest IS NULL AND session_token IS NOT NULL "
+                    + "AND logout_time > ? AND login_time > ?";
+
+    private final Map<TokenDigest, Long> revoked = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final long tokenLifetimeMillis;
+
+    @Autowired(required = false)
+    private SessionTokenDigestMigration tokenMigration;
+
+    private volatile LocalDateTime syncedUntil = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public RevokedTokenIndex(JdbcTemplate jdbcTemplate,
+                             @Value("${jwt.expiration:3600000}") long tokenLifetimeMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    /**
+     * Rebuild from the sessions table before the application starts serving requests
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            sync();
+            log.info("Revoked token index loaded with {} entries", revoked.size());
+        } catch (Exception e) {
+            log.error("Failed to load revoked tokens at startup", e);
+        }
+    }
+
+    public boolean isRevoked(TokenDigest digest) {
+        return revoked.containsKey(digest);
+    }
+
+    /**
+     * Revoke a token until its expiry time
+     */
+    public void revoke(TokenDigest digest, long expiresAtMillis) {
+        if (expiresAtMillis > System.currentTimeMillis()) {
+            revoked.put(digest, expiresAtMillis);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Pick up sessions ended by other instances since the last sync
+     */
+    @Scheduled(fixedDelayString = "${session.revocation.sync-interval:10000}",
+               initialDelayString = "${session.revocation.sync-interval:10000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldestLiveLogin = now.minusNanos(tokenLifetimeMillis * 1_000_000);
+        // Overlap the previous window slightly to tolerate clock skew between instances
+        LocalDateTime since = syncedUntil.minusSeconds(5);
+
+        jdbcTemplate.query(REVOKED_SINCE_SQL, rs -> {
+            Timestamp loginTime = rs.getTimestamp("login_time");
+            revoke(TokenDigest.fromBytes(rs.getBytes("token_digest")), loginTime.getTime() + tokenLifetimeMillis);
+        }, Timestamp.valueOf(since), Timestamp.valueOf(oldestLiveLogin));
+        if (tokenMigration != null && tokenMigration.isLegacyColumnPresent()) {
+            jdbcTemplate.query(LEGACY_REVOKED_SINCE_SQL, rs -> {
+                Timestamp loginTime = rs.getTimestamp("login_time");
+                try {
+                    revoke(TokenDigest.of(rs.getString("session_token")), loginTime.getTime() + tokenLifetimeMillis);
+                } catch (IllegalArgumentException e) {
+                    // Not a well-formed JWT, so it can never authenticate anyway
+                }
+            }, Timestamp.valueOf(since), Timestamp.valueOf(oldestLiveLogin));
+        }
+        syncedUntil = now;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void prune() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
@@ -0,0 +1,165 @@
+package com.app.login.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.app.login.entity.Role;
+
+/**
+ * Immutable set of roles backed by a bitmask over Role.RoleName.
+ * Every possible combination is built once at class load and shared, together
+ * with its role names and GrantedAuthority list, so resolving a user's or a
+ * token's roles never allocates and a role check is a single bit test.
+ */
+public final class RoleSet {
+
+    private static final Role.RoleName[] ROLE_NAMES = Role.RoleName.values();
+    private static final RoleSet[] INTERNED;
+
+    static {
+        if (ROLE_NAMES.length > 16) {
+            throw new IllegalStateException("RoleSet interns every role combination; too many roles to intern");
+        }
+        INTERNED = new RoleSet[1 << ROLE_NAMES.length];
+        for (int bits = 0; bits < INTERNED.length; bits++) {
+            INTERNED[bits] = new RoleSet(bits);
+        }
+    }
+
+    public static final RoleSet EMPTY = INTERNED[0];
+
+    private final int bits;
+    private final List<String> names;
+    private final Set<String> nameSet;
+    private final List<GrantedAuthority> authorities;
+
+    private RoleSet(int bits) {
+        this.bits = bits;
+        List<String> roleNames = new ArrayList<>();
+        List<GrantedAuthority> roleAuthorities = new ArrayList<>();
+        for (Role.RoleName roleName : ROLE_NAMES) {
+            if ((bits & bit(roleName)) != 0) {
+                roleNames.add(roleName.name());
+                roleAuthorities.add(new SimpleGrantedAuthority(roleName.name()));
+            }
+        }
+        this.names = List.copyOf(roleNames);
+        this.nameSet = Collections.unmodifiableSet(new LinkedHashSet<>(roleNames));
+        this.authorities = List.copyOf(roleAuthorities);
+    }
+
+    public static RoleSet fromBits(int bits) {
+        if (bits < 0 || bits >= INTERNED.length) {
+            throw new IllegalArgumentException("Invalid role bits: " + bits);
+        }
+        return INTERNED[bits];
+    }
+
+    public static RoleSet of(Role.RoleName... roleNames) {
+        int bits = 0;
+        for (Role.RoleName roleName : roleNames) {
+            bits |= bit(roleName);
+        }
+        return INTERNED[bits];
+    }
+
+    /**
+     * Resolve the roles held by a user entity
+     */
+    public static RoleSet fromRoles(Collection<Role> roles) {
+        if (roles == null) {
+            return EMPTY;
+        }
+        int bits = 0;
+        for (Role role : roles) {
+            if (role.getName() != null) {
+                bits |= bit(role.getName());
+            }
+        }
+        return INTERNED[bits];
+    }
+
+    /**
+     * Resolve role names, e.g. from the JWT roles claim. Names that are not
+     * a known Role.RoleName are ignored.
+     */
+    public static RoleSet fromNames(Collection<String> names) {
+        if (names == null) {
+            return EMPTY;
+        }
+        int bits = 0;
+        for (String name : names) {
+            bits |= bit(name);
+        }
+        return INTERNED[bits];
+    }
+
+    public boolean contains(Role.RoleName roleName) {
+        return (bits & bit(roleName)) != 0;
+    }
+
+    public boolean containsAny(RoleSet other) {
+        return (bits & other.bits) != 0;
+    }
+
+    public boolean isEmpty() {
+        return bits == 0;
+    }
+
+    public int toBits() {
+        return bits;
+    }
+
+    /**
+     * Role names in enum order, as issued in the JWT roles claim
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    public Set<String> getNameSet() {
+        return nameSet;
+    }
+
+    /**
+     * Shared, immutable authorities for Spring Security
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    private static int bit(Role.RoleName roleName) {
+        return 1 << roleName.ordinal();
+    }
+
+    private static int bit(String name) {
+        for (Role.RoleName roleName : ROLE_NAMES) {
+            if (roleName.name().equals(name)) {
+                return bit(roleName);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof RoleSet other && bits == other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return bits;
+    }
+
+    @Override
+    public String toString() {
+        return names.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package com.app.login.security;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Approximate per-key event counts over a sliding time window in fixed memory.
+ * Counts are kept in count-min sketches, one for the current fixed window and
+ * one for the previous, and the sliding estimate weights the previous
+ * window by how much of it still overlaps. Estimates can overcount on hash
+ * collisions but never undercount, so memory stays at depth x width counters
+ * no matter how many distinct keys an attacker sprays.
+ * Counters are atomic, so increments and reads take no lock; only the
+ * once-per-window rotation synchronizes. Keys are hashed with a random
+ * per-instance seed so collisions cannot be chosen to inflate a victim's count.
+ */
+public final class SlidingWindowSketch {
+
+    private final int depth;
+    private final int widthMask;
+    private final long windowMillis;
+    private final long seed = new SecureRandom().nextLong();
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    public SlidingWindowSketch(int depth, int width, long windowMillis) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two");
+        }
+        this.depth = depth;
+        this.widthMask = width - 1;
+        this.windowMillis = windowMillis;
+        long start = System.currentTimeMillis();
+        this.current = new Window(start - start % windowMillis, depth * width);
+        this.previous = new Window(current.start - windowMillis, 0);
+    }
+
+    /**
+     * Estimated number of events for the key in the last window length
+     */
+    public int estimate(String key, long nowMillis) {
+        Window window = rotateIfNeeded(nowMillis);
+        Window before = previous;
+        long hash = hash(key);
+        double overlap = 1.0 - (double) (nowMillis - window.start) / windowMillis;
+        return window.estimate(hash) + (int) Math.ceil(before.estimate(hash) * Math.max(0, overlap));
+    }
+
+    public void increment(String key, long nowMillis) {
+        rotateIfNeeded(nowMillis).increment(hash(key));
+    }
+
+    /**
+     * Milliseconds until the current fixed window ends
+     */
+    public long millisUntilWindowEnd(long nowMillis) {
+        return Math.max(0, current.start + windowMillis - nowMillis);
+    }
+
+    private Window rotateIfNeeded(long nowMillis) {
+        Window window = current;
+        if (nowMillis < window.start + windowMillis) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            if (nowMillis >= window.start + windowMillis) {
+                long start = nowMillis - nowMillis % windowMillis;
+                // A window older than one length no longer overlaps the sliding window
+                previous = start - window.start == windowMillis ? window : new Window(start - windowMillis, 0);
+                window = new Window(start, depth * (widthMask + 1));
+                current = window;
+            }
+            return window;
+        }
+    }
+
+    private long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        // splitmix64 finalizer
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    private final class Window {
+        private final long start;
+        private final AtomicIntegerArray counters;
+
+        private Window(long start, int size) {
+            this.start = start;
+            this.counters = new AtomicIntegerArray(size);
+        }
+
+        private int estimate(long hash) {
+            if (counters.length() == 0) {
+                return 0;
+            }
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, counters.get(index(hash, row)));
+            }
+            return min;
+        }
+
+        private void increment(long hash) {
+            for (int row = 0; row < depth; row++) {
+                counters.incrementAndGet(index(hash, row));
+            }
+        }
+
+        private int index(long hash, int row) {
+            // Double hashing: row i uses h1 + i * h2
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            return row * (widthMask + 1) + ((h1 + row * h2) & widthMask);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.app.login.security;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Fixed-width SHA-256 digest of a bearer token.
+ * Used as the lookup key for tokens so the raw JWT never has to be hashed
+ * into maps or compared character by character.
+ *
+ * The digest covers the signing input (header.payload) as sent and the
+ * decoded signature bytes rather than the signature's text. The signature
+ * pins the signing input, but base64url admits several spellings of the same
+ * signature (padding, unused trailing bits, the +/ alphabet), and every
+ * spelling must land on the same revocation and session key.
+ */
+public final class TokenDigest {
+
+    public static final int LENGTH = 32;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    // Reused per thread so hashing a token out of a header does not copy it into a new String or byte[]
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[1024]);
+
+    private final byte[] bytes;
+    private final int hash;
+
+    private TokenDigest(byte[] bytes) {
+        this.bytes = bytes;
+        // The digest is already uniformly distributed, so its leading bytes make a good hash
+        this.hash = (bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16 | (bytes[2] & 0xff) << 8 | (bytes[3] & 0xff);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is not an ASCII header.payload.signature JWS
+     */
+    public static TokenDigest of(String token) {
+        return of(token, 0);
+    }
+
+    /**
+     * Digest of the token starting at offset, e.g. past the "Bearer " prefix of
+     * an Authorization header.
+     *
+     * @throws IllegalArgumentException if the token is not an ASCII header.payload.signature JWS
+     */
+    public static TokenDigest of(CharSequence source, int offset) {
+        int end = source.length();
+        int signatureStart = -1;
+        int dots = 0;
+        for (int i = offset; i < end; i++) {
+            char c = source.charAt(i);
+            if (c >= 0x80) {
+                throw new IllegalArgumentException("Token is not ASCII");
+            }
+            if (c == '.') {
+                dots++;
+                signatureStart = i + 1;
+            }
+        }
+        if (dots != 2) {
+            throw new IllegalArgumentException("Token is not a compact JWS");
+        }
+
+        int length = end - offset;
+        byte[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            SCRATCH.set(scratch);
+        }
+        // ASCII was checked above, so each char of the signing input is one byte
+        int signingInputLength = signatureStart - 1 - offset;
+        for (int i = 0; i < signingInputLength; i++) {
+            scratch[i] = (byte) source.charAt(offset + i);
+        }
+        int signatureLength = decodeBase64(source, signatureStart, end, scratch, signingInputLength);
+
+        MessageDigest md = SHA_256.get();
+        md.reset();
+        // Length prefix keeps the split between signing input and signature unambiguous
+        md.update((byte) (signingInputLength >>> 24));
+        md.update((byte) (signingInputLength >>> 16));
+        md.update((byte) (signingInputLength >>> 8));
+        md.update((byte) signingInputLength);
+        md.update(scratch, 0, signingInputLength + signatureLength);
+        return new TokenDigest(md.digest());
+    }
+
+    /**
+     * Decode base64 from either alphabet into out at position, ignoring
+     * trailing padding and the unused low bits of the last character.
+     * Returns the number of bytes written.
+     */
+    private static int decodeBase64(CharSequence source, int start, int end, byte[] out, int position) {
+        while (end > start && source.charAt(end - 1) == '=') {
+            end--;
+        }
+        if ((end - start) % 4 == 1) {
+            throw new IllegalArgumentException("Token signature is not valid base64");
+        }
+        int written = 0;
+        int buffer = 0;
+        int bits = 0;
+        for (int i = start; i < end; i++) {
+            buffer = buffer << 6 | base64Value(source.charAt(i));
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                out[position + written++] = (byte) (buffer >>> bits);
+            }
+        }
+        return written;
+    }
+
+    private static int base64Value(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        }
+        if (c == '-' || c == '+') {
+            return 62;
+        }
+        if (c == '_' || c == '/') {
+            return 63;
+        }
+        throw new IllegalArgumentException("Token signature is not valid base64");
+    }
+
+    public static TokenDigest fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Token digest must be " + LENGTH + " bytes");
+        }
+        return new TokenDigest(bytes.clone());
+    }
+
+    /**
+     * Copy of the raw digest bytes, e.g. for use as a query parameter
+     */
+    public byte[] toBytes() {
+        return bytes.clone();
+    }
+
+    public String toHex() {
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof TokenDigest other && Arrays.equals(bytes, other.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenDigest[" + toHex().substring(0, 12) + "]";
+    }
+}
@@ -0,0 +1,26 @@
+package com.app.login.security;
+
+import lombok.Getter;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been verified
+ */
+@Getter
+public final class VerifiedToken {
+
+    private final TokenDigest digest;
+    private final String username;
+    private final RoleSet roles;
+    private final long expiresAtMillis;
+
+    public VerifiedToken(TokenDigest digest, String username, RoleSet roles, long expiresAtMillis) {
+        this.digest = digest;
+        this.username = username;
+        this.roles = roles != null ? roles : RoleSet.EMPTY;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public boolean isExpired() {
+        return expiresAtMillis <= System.currentTimeMillis();
+    }
+}
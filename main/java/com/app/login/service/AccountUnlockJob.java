@@ -0,0 +1,72 @@
+package com.app.login.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.login.audit.AuditLogWriter;
+import com.app.login.cache.PrincipalCache;
+import com.app.login.entity.AuditLog;
+import com.app.login.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Unlocks accounts whose timed lockout has expired.
+ * Expired locks are found in pages with a range scan on ix_users_locked_until
+ * and each account is unlocked with the same conditional UPDATE login uses.
+ * Login also lifts an expired lock on its own, so this only keeps
+ * account_locked accurate for accounts nobody is logging into; an account
+ * whose update matches nothing was unlocked by a login (or re-checked by
+ * another instance) in the meantime and is not audited again.
+ */
+@Component
+@Slf4j
+public class AccountUnlockJob {
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final AuditLogWriter auditLogWriter;
+    private final int batchSize;
+
+    public AccountUnlockJob(UserRepository userRepository, PrincipalCache principalCache,
+                            AuditLogWriter auditLogWriter,
+                            @Value("${security.lockout.sweep-batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.auditLogWriter = auditLogWriter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${security.lockout.sweep-interval:60000}")
+    public void unlockExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int unlocked = 0;
+        List<UserRepository.UserIdView> accounts;
+        do {
+            accounts = userRepository.findAccountsWithExpiredLock(now, PageRequest.of(0, batchSize));
+            for (UserRepository.UserIdView account : accounts) {
+                if (userRepository.unlockIfExpired(account.getId(), now) == 0) {
+                    continue;
+                }
+                unlocked++;
+                principalCache.invalidate(account.getUsername());
+                auditLogWriter.submit(AuditLog.builder()
+                        .username(account.getUsername())
+                        .eventType(AuditLog.EventType.ACCOUNT_UNLOCKED)
+                        .success(true)
+                        .message("Account lock expired")
+                        .eventTime(now)
+                        .build());
+            }
+        } while (accounts.size() == batchSize);
+
+        if (unlocked > 0) {
+            log.info("Unlocked {} accounts with expired lockouts", unlocked);
+        }
+    }
+}
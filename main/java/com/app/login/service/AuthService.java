@@ -1,20 +1,32 @@
 package com.app.login.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.app.common.util.JwtUtil;
+import com.app.login.audit.AuditLogWriter;
+import com.app.login.cache.PrincipalCache;
+import com.app.login.cache.RoleCache;
+import com.app.login.cache.VerifiedTokenCache;
 import com.app.login.dto.LoginRequest;
 import com.app.login.dto.LoginResponse;
 import com.app.login.dto.RegisterRequest;
@@ -24,12 +36,21 @@ import com.app.login.entity.Role;
 import com.app.login.entity.User;
 import com.app.login.entity.UserSession;
 import com.app.login.event.LoginEvent;
-import com.app.login.event.LoginEventPublisher;
-import com.app.login.repository.AuditLogRepository;
-import com.app.login.repository.RoleRepository;
+import com.app.login.event.LoginEventOutbox;
+import com.app.login.exception.LoginThrottledException;
+import com.app.login.metrics.AuthMetrics;
+import com.app.login.metrics.AuthMetrics.Operation;
+import com.app.login.metrics.AuthMetrics.Outcome;
+import com.app.login.metrics.AuthMetrics.Phase;
 import com.app.login.repository.UserRepository;
 import com.app.login.repository.UserSessionRepository;
+import com.app.login.security.LoginThrottle;
+import com.app.login.security.PasswordHashPolicy;
+import com.app.login.security.RoleSet;
+import com.app.login.security.TokenDigest;
+import com.app.login.security.VerifiedToken;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,15 +61,23 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AuthService {
 
+    private static final Pattern MOBILE_NUMBER = Pattern.compile("\\+?\\d{10,15}");
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
     private final UserSessionRepository sessionRepository;
-    private final AuditLogRepository auditLogRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final AuditLogWriter auditLogWriter;
+    private final PasswordHashingService passwordHashingService;
+    private final PasswordHashPolicy passwordHashPolicy;
     private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final VerifiedTokenCache tokenCache;
+    private final SessionActivityTracker activityTracker;
+    private final LoginThrottle loginThrottle;
+    private final AuthMetrics metrics;
     
     @Autowired(required = false)
-    private LoginEventPublisher eventPublisher;
+    private LoginEventOutbox eventOutbox;
     
     @Autowired
     @Lazy
@@ -57,41 +86,87 @@ public class AuthService {
     @Value("${jwt.expiration:3600000}")
     private Long jwtExpiration;
 
+    @Value("${security.lockout.threshold:5}")
+    private int lockoutThreshold;
+
+    @Value("${security.lockout.duration:900000}")
+    private long lockoutDurationMillis;
+
+    // Set at startup when rows predating the identifier rules exist
+    private volatile boolean legacyUsernames;
+    private volatile boolean legacyMobileNumbers;
+
     @Autowired
-    public AuthService(UserRepository userRepository, RoleRepository roleRepository,
-                      UserSessionRepository sessionRepository, AuditLogRepository auditLogRepository,
-                      PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, RoleCache roleCache,
+                      UserSessionRepository sessionRepository, AuditLogWriter auditLogWriter,
+                      PasswordHashingService passwordHashingService, PasswordHashPolicy passwordHashPolicy,
+                      JwtUtil jwtUtil, PrincipalCache principalCache,
+                      VerifiedTokenCache tokenCache, SessionActivityTracker activityTracker,
+                      LoginThrottle loginThrottle, AuthMetrics metrics) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleCache = roleCache;
         this.sessionRepository = sessionRepository;
-        this.auditLogRepository = auditLogRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.auditLogWriter = auditLogWriter;
+        this.passwordHashingService = passwordHashingService;
+        this.passwordHashPolicy = passwordHashPolicy;
         this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.tokenCache = tokenCache;
+        this.activityTracker = activityTracker;
+        this.loginThrottle = loginThrottle;
+        this.metrics = metrics;
     }
 
     /**
-     * Register a new user
+     * Check once for usernames and mobile numbers stored before registration
+     * enforced the shapes login routes on. Their owners are still found, via a
+     * second lookup on a miss, until those rows are cleaned up.
+     */
+    @PostConstruct
+    void detectLegacyLoginIdentifiers() {
+        long usernames = userRepository.countLegacyShapedUsernames();
+        long mobileNumbers = userRepository.countLegacyShapedMobileNumbers();
+        legacyUsernames = usernames > 0;
+        legacyMobileNumbers = mobileNumbers > 0;
+        if (legacyUsernames || legacyMobileNumbers) {
+            log.warn("{} usernames look like an email or mobile number and {} mobile numbers are not 10-15 digits; "
+                    + "login falls back to a second lookup for them", usernames, mobileNumbers);
+        }
+    }
+
+    /**
+     * Register a new user.
+     * Not transactional: the password is hashed on the hashing executor before
+     * any write, and the user insert runs in the repository's own transaction.
      */
-    @Transactional
     public User register(RegisterRequest request) {
+        long started = metrics.start();
+        try {
+            User user = registerUser(request);
+            metrics.record(Operation.REGISTER, Outcome.SUCCESS, started);
+            return user;
+        } catch (RuntimeException e) {
+            metrics.record(Operation.REGISTER, Outcome.FAILURE, started);
+            throw e;
+        }
+    }
+
+    private User registerUser(RegisterRequest request) {
         log.info("Registering new user: {}", request.getUsername());
 
-        // Validate uniqueness
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new IllegalArgumentException("Username already exists");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
-        }
-        if (request.getMobileNumber() != null && 
-            userRepository.existsByMobileNumber(request.getMobileNumber())) {
-            throw new IllegalArgumentException("Mobile number already exists");
-        }
+        // Validate uniqueness with a single query
+        long phaseStarted = metrics.start();
+        checkIdentityAvailable(request);
+        metrics.record(Phase.REGISTER_IDENTITY_CHECK, phaseStarted);
+
+        phaseStarted = metrics.start();
+        String passwordHash = passwordHashingService.encode(request.getPassword()); // BCrypt hashing
+        metrics.record(Phase.REGISTER_PASSWORD_HASH, phaseStarted);
 
         // Create user
         User user = User.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword())) // BCrypt hashing
+                .password(passwordHash)
                 .email(request.getEmail())
                 .mobileNumber(request.getMobileNumber())
                 .preferredLanguage(request.getPreferredLanguage())
@@ -104,11 +179,18 @@ public class AuthService {
                 .build();
 
         // Assign default role
-        Role userRole = roleRepository.findByName(Role.RoleName.ROLE_USER)
-                .orElseThrow(() -> new RuntimeException("Default role not found"));
-        user.getRoles().add(userRole);
+        user.getRoles().add(roleCache.get(Role.RoleName.ROLE_USER));
 
-        User savedUser = userRepository.save(user);
+        // The unique constraints remain the final arbiter for concurrent registrations
+        User savedUser;
+        phaseStarted = metrics.start();
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translateUniqueViolation(e, request);
+        } finally {
+            metrics.record(Phase.REGISTER_USER_INSERT, phaseStarted);
+        }
 
         // Log the registration
         logAuditEvent(request.getUsername(), AuditLog.EventType.USER_REGISTERED, 
@@ -118,25 +200,83 @@ public class AuthService {
         return savedUser;
     }
 
+    private void checkIdentityAvailable(RegisterRequest request) {
+        // The database tags each conflict with its field, so matching follows the column collation
+        List<String> conflicts = userRepository.findConflictingIdentityFields(
+                request.getUsername(), request.getEmail(), request.getMobileNumber());
+        if (conflicts.contains(UserRepository.FIELD_USERNAME)) {
+            throw new IllegalArgumentException("Username already exists");
+        }
+        if (conflicts.contains(UserRepository.FIELD_EMAIL)) {
+            throw new IllegalArgumentException("Email already exists");
+        }
+        if (conflicts.contains(UserRepository.FIELD_MOBILE_NUMBER)) {
+            throw new IllegalArgumentException("Mobile number already exists");
+        }
+    }
+
     /**
-     * Authenticate user and generate JWT token
+     * Map a unique-constraint violation from the insert to the same field-specific
+     * error the pre-check reports, by constraint name or by the duplicated value
+     */
+    private RuntimeException translateUniqueViolation(DataIntegrityViolationException e, RegisterRequest request) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+        if (message.contains(User.UK_USERNAME) || message.contains("'" + request.getUsername().toLowerCase() + "'")) {
+            return new IllegalArgumentException("Username already exists");
+        }
+        if (message.contains(User.UK_EMAIL) || message.contains("'" + request.getEmail().toLowerCase() + "'")) {
+            return new IllegalArgumentException("Email already exists");
+        }
+        if (message.contains(User.UK_MOBILE_NUMBER)
+                || (request.getMobileNumber() != null && message.contains("'" + request.getMobileNumber() + "'"))) {
+            return new IllegalArgumentException("Mobile number already exists");
+        }
+        return e;
+    }
+
+    /**
+     * Authenticate user and generate JWT token.
+     * The password is verified on the hashing executor with no transaction
+     * open; only the post-verification writes run in a transaction.
      */
-    @Transactional
     public LoginResponse login(LoginRequest request, HttpServletRequest httpRequest) {
-        log.info("Login attempt for: {}", request.getUsernameOrEmailOrMobile());
+        long started = metrics.start();
+        try {
+            LoginResponse response = authenticate(request, httpRequest);
+            metrics.record(Operation.LOGIN, Outcome.SUCCESS, started);
+            return response;
+        } catch (LoginThrottledException e) {
+            metrics.record(Operation.LOGIN, Outcome.THROTTLED, started);
+            throw e;
+        } catch (RuntimeException e) {
+            metrics.record(Operation.LOGIN, Outcome.FAILURE, started);
+            throw e;
+        }
+    }
 
+    private LoginResponse authenticate(LoginRequest request, HttpServletRequest httpRequest) {
         String identifier = request.getUsernameOrEmailOrMobile();
 
+        // Reject sprayed attempts before any lookup or password hashing
+        long phaseStarted = metrics.start();
+        loginThrottle.check(httpRequest != null ? getClientIp(httpRequest) : null, identifier);
+        metrics.record(Phase.LOGIN_THROTTLE, phaseStarted);
+
+        log.info("Login attempt for: {}", identifier);
+
         // Find user by username, email, or mobile
-        User user = userRepository.findByUsernameOrEmailOrMobileNumber(identifier, identifier, identifier)
+        phaseStarted = metrics.start();
+        Optional<User> found = findUserForLogin(identifier);
+        metrics.record(Phase.LOGIN_USER_LOOKUP, phaseStarted);
+        User user = found
                 .orElseThrow(() -> {
                     logAuditEvent(identifier, AuditLog.EventType.LOGIN_FAILURE, 
                                  false, "User not found", httpRequest);
                     return new UsernameNotFoundException("Invalid credentials");
                 });
 
-        // Check if account is locked
-        if (user.isAccountLocked()) {
+        // Check if account is locked, lifting a lock that has expired
+        if (user.isAccountLocked() && !unlockIfExpired(user, httpRequest)) {
             logAuditEvent(user.getUsername(), AuditLog.EventType.LOGIN_FAILURE, 
                          false, "Account is locked", httpRequest);
             throw new BadCredentialsException("Account is locked. Please contact administrator.");
@@ -150,31 +290,54 @@ public class AuthService {
         }
 
         // Validate password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        phaseStarted = metrics.start();
+        boolean matches = passwordHashingService.matches(request.getPassword(), user.getPassword());
+        metrics.record(Phase.LOGIN_PASSWORD_VERIFY, phaseStarted);
+        if (!matches) {
+            phaseStarted = metrics.start();
             self.handleFailedLogin(user, httpRequest); // Use self to trigger transaction proxy
+            metrics.record(Phase.LOGIN_FAILURE_RECORD, phaseStarted);
             throw new BadCredentialsException("Invalid credentials");
         }
 
+        rehashPasswordIfNeeded(user, request.getPassword());
+
+        // Timed from outside the proxy so the commit is included
+        phaseStarted = metrics.start();
+        LoginResponse response = self.completeLogin(user, httpRequest);
+        metrics.record(Phase.LOGIN_COMPLETE, phaseStarted);
+        return response;
+    }
+
+    /**
+     * Record a successful login, create the session and issue the token
+     */
+    @Transactional
+    public LoginResponse completeLogin(User user, HttpServletRequest httpRequest) {
         // Reset failed attempts on successful login
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.recordSuccessfulLogin(user.getId(), now);
         user.setFailedLoginAttempts(0);
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        user.setLastLogin(now);
 
         // Generate JWT token
-        List<String> roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.toList());
-        String token = jwtUtil.generateToken(user.getUsername(), roles);
+        long phaseStarted = metrics.start();
+        RoleSet roles = RoleSet.fromRoles(user.getRoles());
+        String token = jwtUtil.generateToken(user.getUsername(), roles.getNames());
+        metrics.record(Phase.LOGIN_TOKEN_ISSUE, phaseStarted);
 
         // Create session
+        phaseStarted = metrics.start();
         createUserSession(user, token, httpRequest);
+        metrics.record(Phase.LOGIN_SESSION_INSERT, phaseStarted);
 
-        // Log successful login
-        logAuditEvent(user.getUsername(), AuditLog.EventType.LOGIN_SUCCESS, 
-                     true, "Login successful", httpRequest);
+        // Log successful login once the session and login time are committed
+        AuditLog successAudit = buildAuditEvent(user.getUsername(), AuditLog.EventType.LOGIN_SUCCESS,
+                true, "Login successful", httpRequest);
+        submitAfterCommit(successAudit);
 
-        // Publish login event to Kafka
-        publishLoginEvent(user, "LOGIN_SUCCESS", httpRequest);
+        // Record login event for Kafka in this transaction
+        recordLoginEvent(user, "LOGIN_SUCCESS", httpRequest);
 
         log.info("User logged in successfully: {}", user.getUsername());
 
@@ -185,7 +348,7 @@ public class AuthService {
                 .username(user.getUsername())
                 .email(user.getEmail())
                 .mobileNumber(user.getMobileNumber())
-                .roles(user.getRoles().stream().map(r -> r.getName().name()).collect(Collectors.toSet()))
+                .roles(roles.getNameSet())
                 .preferredLanguage(user.getPreferredLanguage())
                 .preferredCurrency(user.getPreferredCurrency())
                 .loginTime(LocalDateTime.now())
@@ -198,20 +361,41 @@ public class AuthService {
      */
     @Transactional
     public void logout(String token) {
-        String username = jwtUtil.extractUsername(token);
+        long started = metrics.start();
+        try {
+            closeSession(token);
+            metrics.record(Operation.LOGOUT, Outcome.SUCCESS, started);
+        } catch (RuntimeException e) {
+            metrics.record(Operation.LOGOUT, Outcome.FAILURE, started);
+            throw e;
+        }
+    }
+
+    private void closeSession(String token) {
+        long phaseStarted = metrics.start();
+        TokenDigest digest = TokenDigest.of(token);
+        VerifiedToken verified = tokenCache.verify(digest, token);
+        String username = verified != null ? verified.getUsername() : jwtUtil.extractUsername(token);
+        metrics.record(Phase.LOGOUT_TOKEN_VERIFY, phaseStarted);
+        if (verified != null) {
+            tokenCache.revoke(verified);
+        }
+        activityTracker.forget(digest);
         
-        sessionRepository.findBySessionToken(token).ifPresent(session -> {
+        phaseStarted = metrics.start();
+        sessionRepository.findByTokenDigest(digest.toBytes()).ifPresent(session -> {
             session.setActive(false);
             session.setLogoutTime(LocalDateTime.now());
             sessionRepository.save(session);
         });
+        metrics.record(Phase.LOGOUT_SESSION_CLOSE, phaseStarted);
 
         logAuditEvent(username, AuditLog.EventType.LOGOUT, true, "User logged out", null);
         
-        // Publish logout event
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user != null) {
-            publishLoginEvent(user, "LOGOUT", null);
+        // Record logout event for Kafka in this transaction
+        if (eventOutbox != null) {
+            userRepository.findByUsername(username)
+                    .ifPresent(user -> recordLoginEvent(user, "LOGOUT", null));
         }
         
         log.info("User logged out: {}", username);
@@ -230,26 +414,89 @@ public class AuthService {
      * Validate JWT token
      */
     public TokenValidationResponse validateToken(String token) {
+        long started = metrics.start();
         try {
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                List<String> roles = jwtUtil.extractRoles(token);
-                
-                User user = userRepository.findByUsername(username)
+            long phaseStarted = metrics.start();
+            VerifiedToken verified = tokenCache.verify(token);
+            metrics.record(Phase.VALIDATE_TOKEN_VERIFY, phaseStarted);
+            if (verified != null) {
+                phaseStarted = metrics.start();
+                User user = userRepository.findByUsername(verified.getUsername())
                         .orElse(null);
-
-                return TokenValidationResponse.builder()
-                        .valid(true)
-                        .username(username)
-                        .userId(user != null ? user.getId() : null)
-                        .roles(roles.toArray(new String[0]))
-                        .message("Token is valid")
-                        .build();
+                metrics.record(Phase.VALIDATE_TOKEN_USER_LOOKUP, phaseStarted);
+                metrics.record(Operation.VALIDATE_TOKEN, Outcome.SUCCESS, started);
+                return validTokenResponse(verified, user != null ? user.getId() : null);
             }
         } catch (Exception e) {
             log.error("Token validation failed", e);
         }
 
+        metrics.record(Operation.VALIDATE_TOKEN, Outcome.FAILURE, started);
+        return invalidTokenResponse();
+    }
+
+    /**
+     * Validate a batch of JWT tokens, resolving user ids with a single query.
+     * Responses are returned in the same order as the tokens. Each token is
+     * recorded as one validate_token operation, as a single validation would
+     * be: its own verification plus the shared user lookup.
+     */
+    public List<TokenValidationResponse> validateTokens(List<String> tokens) {
+        List<VerifiedToken> verifiedTokens = new ArrayList<>(tokens.size());
+        long[] verifyNanos = new long[tokens.size()];
+        Set<String> usernames = new HashSet<>();
+        for (String token : tokens) {
+            long started = metrics.start();
+            VerifiedToken verified = null;
+            try {
+                verified = token != null ? tokenCache.verify(token) : null;
+            } catch (Exception e) {
+                log.error("Token validation failed", e);
+            }
+            metrics.record(Phase.VALIDATE_TOKEN_VERIFY, started);
+            if (verified != null) {
+                usernames.add(verified.getUsername());
+                verifyNanos[verifiedTokens.size()] = metrics.start() - started;
+            } else {
+                metrics.record(Operation.VALIDATE_TOKEN, Outcome.FAILURE, started);
+            }
+            verifiedTokens.add(verified);
+        }
+
+        // The IN query matches under the column's case-insensitive collation, so must the map
+        long lookupStarted = metrics.start();
+        Map<String, Long> userIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (!usernames.isEmpty()) {
+            userRepository.findIdsByUsernameIn(usernames)
+                    .forEach(view -> userIds.put(view.getUsername(), view.getId()));
+            metrics.record(Phase.VALIDATE_TOKEN_USER_LOOKUP, lookupStarted);
+        }
+
+        List<TokenValidationResponse> responses = new ArrayList<>(tokens.size());
+        for (int i = 0; i < verifiedTokens.size(); i++) {
+            VerifiedToken verified = verifiedTokens.get(i);
+            if (verified != null) {
+                // Backdated by this token's verify time, so the timer sees verify + lookup
+                metrics.record(Operation.VALIDATE_TOKEN, Outcome.SUCCESS, lookupStarted - verifyNanos[i]);
+                responses.add(validTokenResponse(verified, userIds.get(verified.getUsername())));
+            } else {
+                responses.add(invalidTokenResponse());
+            }
+        }
+        return responses;
+    }
+
+    private TokenValidationResponse validTokenResponse(VerifiedToken verified, Long userId) {
+        return TokenValidationResponse.builder()
+                .valid(true)
+                .username(verified.getUsername())
+                .userId(userId)
+                .roles(verified.getRoles().getNames())
+                .message("Token is valid")
+                .build();
+    }
+
+    private TokenValidationResponse invalidTokenResponse() {
         return TokenValidationResponse.builder()
                 .valid(false)
                 .message("Invalid or expired token")
@@ -257,32 +504,103 @@ public class AuthService {
     }
 
     /**
-     * Handle failed login attempts
+     * Handle failed login attempts.
+     * The count is incremented and the lock applied by one conditional UPDATE,
+     * so concurrent failures are never lost. That UPDATE only matches an unlocked
+     * row and holds its row lock until commit, so if the row reads back locked
+     * this transaction is the one that locked it and the lockout is audited once.
      */
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
+    @Transactional
     public void handleFailedLogin(User user, HttpServletRequest httpRequest) {
-        user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
-        
-        // Lock account after 5 failed attempts
-        if (user.getFailedLoginAttempts() >= 5) {
-            user.setAccountLocked(true);
+        LocalDateTime lockedUntil = lockoutDurationMillis > 0
+                ? LocalDateTime.now().plus(Duration.ofMillis(lockoutDurationMillis)) : null;
+        if (userRepository.recordFailedLogin(user.getId(), lockoutThreshold, lockedUntil) > 0
+                && userRepository.findAccountLockedById(user.getId())) {
+            principalCache.invalidate(user.getUsername());
             logAuditEvent(user.getUsername(), AuditLog.EventType.ACCOUNT_LOCKED, 
                          true, "Account locked due to multiple failed login attempts", httpRequest);
             log.warn("Account locked due to failed attempts: {}", user.getUsername());
         }
 
-        userRepository.save(user);
         logAuditEvent(user.getUsername(), AuditLog.EventType.LOGIN_FAILURE, 
                      false, "Invalid password", httpRequest);
     }
 
+    /**
+     * Lift a lock whose locked_until has passed. Returns false if the account is
+     * still locked, including accounts locked until an administrator unlocks them.
+     */
+    private boolean unlockIfExpired(User user, HttpServletRequest httpRequest) {
+        LocalDateTime now = LocalDateTime.now();
+        if (user.getLockedUntil() == null || user.getLockedUntil().isAfter(now)
+                || userRepository.unlockIfExpired(user.getId(), now) == 0) {
+            return false;
+        }
+        user.setAccountLocked(false);
+        user.setFailedLoginAttempts(0);
+        user.setLockedUntil(null);
+        principalCache.invalidate(user.getUsername());
+        logAuditEvent(user.getUsername(), AuditLog.EventType.ACCOUNT_UNLOCKED,
+                     true, "Account lock expired", httpRequest);
+        return true;
+    }
+
+    /**
+     * Look up a login identifier with one single-index query chosen from its shape,
+     * instead of an OR across the username, email and mobile columns.
+     * Registration rejects usernames containing '@' or shaped like a mobile
+     * number and mobile numbers of any other shape, so a miss is final and
+     * never costs a second query, unless older rows breaking those rules were
+     * found at startup.
+     */
+    private Optional<User> findUserForLogin(String identifier) {
+        Optional<User> found;
+        if (identifier.indexOf('@') >= 0) {
+            found = userRepository.findWithRolesByEmail(identifier);
+        } else if (MOBILE_NUMBER.matcher(identifier).matches()) {
+            found = userRepository.findWithRolesByMobileNumber(identifier);
+        } else {
+            found = userRepository.findWithRolesByUsername(identifier);
+            return found.isEmpty() && legacyMobileNumbers
+                    ? userRepository.findWithRolesByMobileNumber(identifier) : found;
+        }
+        return found.isEmpty() && legacyUsernames ? userRepository.findWithRolesByUsername(identifier) : found;
+    }
+
+    /**
+     * Re-hash a just-verified password in the background when the stored hash's
+     * algorithm or cost differs from the current policy. The update only applies
+     * if the stored hash is unchanged, and is simply retried on a later login if
+     * the hashing executor is busy.
+     */
+    private void rehashPasswordIfNeeded(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordHashPolicy.needsRehash(currentHash)) {
+            return;
+        }
+        Long userId = user.getId();
+        String username = user.getUsername();
+        boolean accepted = passwordHashingService.encodeInBackground(rawPassword, newHash -> {
+            try {
+                if (userRepository.replacePasswordHash(userId, currentHash, newHash) > 0) {
+                    log.info("Password hash upgraded to current policy for user: {}", username);
+                }
+            } catch (Exception e) {
+                log.warn("Password re-hash failed for user: {}", username, e);
+            }
+        });
+        if (!accepted) {
+            log.debug("Hashing executor busy, deferring password re-hash for user: {}", username);
+        }
+    }
+
     /**
      * Create user session
      */
     private void createUserSession(User user, String token, HttpServletRequest httpRequest) {
         UserSession session = UserSession.builder()
                 .user(user)
-                .sessionToken(token)
+                .tokenDigest(TokenDigest.of(token).toBytes())
                 .loginTime(LocalDateTime.now())
                 .lastActivity(LocalDateTime.now())
                 .active(true)
@@ -298,6 +616,11 @@ public class AuthService {
      */
     private void logAuditEvent(String username, AuditLog.EventType eventType, 
                                boolean success, String message, HttpServletRequest httpRequest) {
+        submitAudit(buildAuditEvent(username, eventType, success, message, httpRequest));
+    }
+
+    private AuditLog buildAuditEvent(String username, AuditLog.EventType eventType,
+                                     boolean success, String message, HttpServletRequest httpRequest) {
         AuditLog auditLog = AuditLog.builder()
                 .username(username)
                 .eventType(eventType)
@@ -310,47 +633,67 @@ public class AuthService {
             auditLog.setIpAddress(getClientIp(httpRequest));
             auditLog.setUserAgent(httpRequest.getHeader("User-Agent"));
         }
+        return auditLog;
+    }
+
+    /**
+     * Submit an audit event when the current transaction commits, so a
+     * rolled-back login is never audited as a success. Without a transaction
+     * the event is submitted immediately.
+     */
+    private void submitAfterCommit(AuditLog auditLog) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submitAudit(auditLog);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submitAudit(auditLog);
+            }
+        });
+    }
 
-        auditLogRepository.save(auditLog);
+    private void submitAudit(AuditLog auditLog) {
+        long phaseStarted = metrics.start();
+        auditLogWriter.submit(auditLog);
+        metrics.record(Phase.AUDIT_ENQUEUE, phaseStarted);
     }
 
     /**
-     * Get client IP address
+     * Get client IP address, the one source for throttling, sessions and audit.
+     * With server.forward-headers-strategy=native the container has already
+     * replaced the remote address with the client from X-Forwarded-For when,
+     * and only when, the connection comes from a trusted internal proxy, so a
+     * client cannot pick its own address by sending the header directly.
      */
     private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
         return request.getRemoteAddr();
     }
 
     /**
-     * Publish login event to Kafka (if Kafka is enabled)
+     * Record a login event in the outbox for Kafka (if Kafka is enabled).
+     * Must be called inside the transaction of the change it describes.
      */
-    private void publishLoginEvent(User user, String eventType, HttpServletRequest request) {
+    private void recordLoginEvent(User user, String eventType, HttpServletRequest request) {
         // Skip if Kafka is not configured
-        if (eventPublisher == null) {
-            log.debug("Kafka event publisher not available, skipping event publication");
+        if (eventOutbox == null) {
             return;
         }
-        
-        try {
-            LoginEvent event = LoginEvent.builder()
-                    .eventId(java.util.UUID.randomUUID().toString())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .userId(user.getId())
-                    .eventType(eventType)
-                    .eventTime(LocalDateTime.now())
-                    .ipAddress(request != null ? getClientIp(request) : null)
-                    .userAgent(request != null ? request.getHeader("User-Agent") : null)
-                    .build();
-            
-            eventPublisher.publishLoginEvent(event);
-        } catch (Exception e) {
-            log.error("Failed to publish login event", e);
-            // Don't fail the operation if Kafka is unavailable
-        }
+
+        LoginEvent event = LoginEvent.builder()
+                .eventId(java.util.UUID.randomUUID().toString())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .userId(user.getId())
+                .eventType(eventType)
+                .eventTime(LocalDateTime.now())
+                .ipAddress(request != null ? getClientIp(request) : null)
+                .userAgent(request != null ? request.getHeader("User-Agent") : null)
+                .build();
+
+        long phaseStarted = metrics.start();
+        eventOutbox.record(event);
+        metrics.record(Phase.OUTBOX_RECORD, phaseStarted);
     }
 }
@@ -1,36 +1,184 @@
 package com.app.login.service;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.app.login.config.BankProperties;
 import com.app.login.dto.BankConfigResponse;
 import com.app.login.entity.BankConfiguration;
+import com.app.login.event.BankConfigurationChangedEvent;
 import com.app.login.repository.BankConfigurationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
 
 /**
- * Service for bank configuration management
+ * Service for bank configuration management.
+ * Holds a tenant-keyed registry of immutable configuration snapshots, built
+ * from the active bank_configuration rows plus the supported languages and
+ * currencies in the bank: properties. Lookups by tenant id or host name are
+ * plain map reads, so serving or resolving a tenant does no database work.
+ * The whole registry is rebuilt and swapped atomically when a
+ * BankConfigurationChangedEvent is published and on a fixed interval, which
+ * also picks up changes made by other instances.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BankConfigService {
 
     private final BankConfigurationRepository bankConfigRepository;
+    private final BankProperties bankProperties;
+    private final ObjectMapper objectMapper;
+    @Getter
+    private final long cacheMaxAgeSeconds;
+
+    private volatile Registry registry;
+
+    public BankConfigService(BankConfigurationRepository bankConfigRepository, BankProperties bankProperties,
+                             ObjectMapper objectMapper,
+                             @Value("${bank.config.cache-max-age:300}") long cacheMaxAgeSeconds) {
+        this.bankConfigRepository = bankConfigRepository;
+        this.bankProperties = bankProperties;
+        this.objectMapper = objectMapper;
+        this.cacheMaxAgeSeconds = cacheMaxAgeSeconds;
+    }
+
+    /**
+     * Get a tenant's configuration together with its ETag, or null for an unknown tenant
+     */
+    public Snapshot getSnapshot(String tenantId) {
+        return currentRegistry().byTenant.get(tenantId);
+    }
 
     /**
-     * Get active bank configuration
+     * Tenant served on a host name, or null if no tenant claims it
      */
-    public BankConfigResponse getBankConfiguration() {
-        BankConfiguration config = bankConfigRepository.findByActiveTrue()
-                .orElseGet(this::getDefaultConfiguration);
+    public String findTenantByHost(String host) {
+        return host != null ? currentRegistry().tenantByHost.get(host.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    public String getDefaultTenant() {
+        return bankProperties.getDefaultTenant();
+    }
+
+    @EventListener
+    public void onConfigurationChanged(BankConfigurationChangedEvent event) {
+        log.info("Bank configuration {} changed, reloading", event.getConfigurationId());
+        refresh();
+    }
 
-        return BankConfigResponse.builder()
+    /**
+     * Reload all active tenant configurations from the database
+     */
+    @Scheduled(fixedDelayString = "${bank.config.refresh-interval:300000}",
+            initialDelayString = "${bank.config.refresh-interval:300000}")
+    public synchronized void refresh() {
+        Registry previous = registry;
+        Map<String, Snapshot> byTenant = new HashMap<>();
+        Map<String, String> tenantByHost = new HashMap<>();
+
+        for (BankConfiguration config : bankConfigRepository.findAllByActiveTrue()) {
+            String tenantId = config.getTenantId() != null ? config.getTenantId() : getDefaultTenant();
+            if (byTenant.containsKey(tenantId)) {
+                log.warn("Ignoring duplicate active bank configuration {} for tenant {}", config.getId(), tenantId);
+                continue;
+            }
+            byTenant.put(tenantId, snapshotOf(tenantId, config, previous));
+            for (String host : hostNamesOf(config)) {
+                String claimedBy = tenantByHost.putIfAbsent(host, tenantId);
+                if (claimedBy != null && !claimedBy.equals(tenantId)) {
+                    log.warn("Host {} is configured for tenants {} and {}; using {}", host, claimedBy, tenantId, claimedBy);
+                }
+            }
+        }
+        byTenant.computeIfAbsent(getDefaultTenant(),
+                tenantId -> snapshotOf(tenantId, getDefaultConfiguration(), previous));
+
+        registry = new Registry(Map.copyOf(byTenant), Map.copyOf(tenantByHost));
+        log.debug("Bank configuration registry loaded for tenants {}", byTenant.keySet());
+    }
+
+    private Registry currentRegistry() {
+        Registry current = registry;
+        if (current == null) {
+            refresh();
+            current = registry;
+        }
+        return current;
+    }
+
+    private Snapshot snapshotOf(String tenantId, BankConfiguration config, Registry previous) {
+        BankConfigResponse response = BankConfigResponse.builder()
+                .tenantId(tenantId)
                 .bankName(config.getBankName())
                 .logoUrl(config.getLogoUrl())
                 .defaultLanguage(config.getDefaultLanguage())
                 .defaultCurrency(config.getDefaultCurrency())
                 .currencyDecimalPlaces(config.getCurrencyDecimalPlaces())
+                .supportedLanguages(supportedLanguagesOf(tenantId))
+                .supportedCurrencies(supportedCurrenciesOf(tenantId))
                 .build();
+
+        // Keep the old snapshot when nothing changed so its ETag stays valid
+        Snapshot unchanged = previous != null ? previous.byTenant.get(tenantId) : null;
+        if (unchanged != null && unchanged.getResponse().equals(response)) {
+            return unchanged;
+        }
+        return new Snapshot(response, etagOf(response));
+    }
+
+    private List<String> supportedLanguagesOf(String tenantId) {
+        BankProperties.TenantProperties tenant = bankProperties.getTenants().get(tenantId);
+        List<String> languages = tenant != null && tenant.getSupportedLanguages() != null
+                ? tenant.getSupportedLanguages()
+                : bankProperties.getSupportedLanguages();
+        return List.copyOf(languages);
+    }
+
+    private List<BankConfigResponse.SupportedCurrency> supportedCurrenciesOf(String tenantId) {
+        BankProperties.TenantProperties tenant = bankProperties.getTenants().get(tenantId);
+        List<BankProperties.CurrencyProperties> currencies = tenant != null && tenant.getSupportedCurrencies() != null
+                ? tenant.getSupportedCurrencies()
+                : bankProperties.getSupportedCurrencies();
+        return currencies.stream()
+                .map(currency -> new BankConfigResponse.SupportedCurrency(currency.getCode(), currency.getDecimalPlaces()))
+                .toList();
+    }
+
+    private static List<String> hostNamesOf(BankConfiguration config) {
+        if (config.getHostNames() == null || config.getHostNames().isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(config.getHostNames().split(","))
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Strong ETag over the serialized response, stable across restarts and instances
+     */
+    private String etagOf(BankConfigResponse response) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(response));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute bank configuration ETag", e);
+        }
     }
 
     /**
@@ -38,12 +186,33 @@ public class BankConfigService {
      */
     private BankConfiguration getDefaultConfiguration() {
         return BankConfiguration.builder()
-                .bankName("Credexa Bank")
-                .logoUrl("/assets/logo.png")
+                .tenantId(getDefaultTenant())
+                .bankName(bankProperties.getName())
+                .logoUrl(bankProperties.getLogoUrl())
                 .defaultLanguage("en")
                 .defaultCurrency("USD")
                 .currencyDecimalPlaces(2)
                 .active(true)
                 .build();
     }
+
+    /**
+     * Immutable view of one tenant's configuration as served to clients
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Snapshot {
+        private final BankConfigResponse response;
+        private final String etag;
+    }
+
+    private static final class Registry {
+        private final Map<String, Snapshot> byTenant;
+        private final Map<String, String> tenantByHost;
+
+        private Registry(Map<String, Snapshot> byTenant, Map<String, String> tenantByHost) {
+            this.byTenant = byTenant;
+            this.tenantByHost = tenantByHost;
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package com.app.login.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.app.login.exception.HashingCapacityExceededException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs password hashing and verification on a dedicated, CPU-sized executor.
+ * At most one BCrypt computation runs per core; once the bounded queue is full,
+ * requests are shed with HashingCapacityExceededException instead of piling up
+ * on servlet threads during a login storm. Optional background work (re-hash
+ * on login) only runs while the queue is under half full and is capped to a
+ * quarter of the threads, so it can never be the reason a login is shed.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final int backgroundQueueLimit;
+    private final int maxBackgroundTasks;
+    private final AtomicInteger backgroundTasks = new AtomicInteger();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.hashing.threads:0}") int threads,
+                                  @Value("${security.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.hashing.timeout:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.backgroundQueueLimit = queueCapacity / 2;
+        this.maxBackgroundTasks = Math.max(1, poolSize / 4);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing executor started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Verify a raw password against a stored hash
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash a raw password
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hash a raw password in the background and hand the result to a callback.
+     * Returns false, without queueing anything, if the queue is half full or
+     * enough background work is already in flight; callers simply try again later.
+     */
+    public boolean encodeInBackground(CharSequence rawPassword, Consumer<String> onEncoded) {
+        if (executor.getQueue().size() >= backgroundQueueLimit) {
+            return false;
+        }
+        if (backgroundTasks.incrementAndGet() > maxBackgroundTasks) {
+            backgroundTasks.decrementAndGet();
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    onEncoded.accept(passwordEncoder.encode(rawPassword));
+                } finally {
+                    backgroundTasks.decrementAndGet();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            backgroundTasks.decrementAndGet();
+            return false;
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new HashingCapacityExceededException("Server is busy, please retry shortly", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HashingCapacityExceededException("Password hashing timed out, please retry shortly", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingCapacityExceededException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
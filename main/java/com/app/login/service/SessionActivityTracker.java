@@ -0,0 +1,117 @@
+package com.app.login.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.login.security.TokenDigest;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory record of when each session was last seen.
+ * touch() is a single concurrent-map write, cheap enough for the request path.
+ * Updates to the same session are coalesced and written behind to
+ * user_sessions.last_activity in one JDBC batch per flush interval, so idle
+ * tracking costs at most one write per active session per interval.
+ */
+@Component
+@Slf4j
+public class SessionActivityTracker {
+
+    private static final String UPDATE_SQL =
+            "UPDATE user_sessions SET last_activity = ? WHERE token_digest = ? AND is_active = true";
+
+    // ConcurrentHashMap stripes its locking per bin, so concurrent touches rarely contend
+    private final Map<TokenDigest, Activity> activity = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final long idleTimeoutMillis;
+
+    public SessionActivityTracker(JdbcTemplate jdbcTemplate,
+                                  @Value("${session.idle-timeout:300000}") long idleTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Record activity on a session
+     */
+    public void touch(TokenDigest digest) {
+        long now = System.currentTimeMillis();
+        Activity entry = activity.get(digest);
+        if (entry == null) {
+            entry = activity.computeIfAbsent(digest, d -> new Activity());
+        }
+        entry.lastSeenMillis = now;
+    }
+
+    /**
+     * Last time the session was seen by this instance, or null if unknown
+     */
+    public Long getLastSeen(TokenDigest digest) {
+        Activity entry = activity.get(digest);
+        return entry != null ? entry.lastSeenMillis : null;
+    }
+
+    public void forget(TokenDigest digest) {
+        activity.remove(digest);
+    }
+
+    public int getTrackedCount() {
+        return activity.size();
+    }
+
+    /**
+     * Write all activity seen since the last flush, then drop sessions
+     * that have been idle longer than the timeout
+     */
+    @Scheduled(fixedDelayString = "${session.activity.flush-interval:15000}")
+    public synchronized void flush() {
+        List<Object[]> updates = new ArrayList<>();
+        List<Activity> flushed = new ArrayList<>();
+        long idleBefore = System.currentTimeMillis() - idleTimeoutMillis;
+
+        activity.forEach((digest, entry) -> {
+            long lastSeen = entry.lastSeenMillis;
+            if (lastSeen > entry.flushedMillis) {
+                updates.add(new Object[] {new Timestamp(lastSeen), digest.toBytes()});
+                entry.pendingMillis = lastSeen;
+                flushed.add(entry);
+            }
+        });
+
+        if (!updates.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+                flushed.forEach(entry -> entry.flushedMillis = entry.pendingMillis);
+                log.debug("Flushed last activity for {} sessions", updates.size());
+            } catch (Exception e) {
+                // Entries stay dirty and are retried on the next flush
+                log.error("Failed to flush activity for {} sessions", updates.size(), e);
+                return;
+            }
+        }
+
+        activity.entrySet().removeIf(e ->
+                e.getValue().lastSeenMillis < idleBefore && e.getValue().flushedMillis >= e.getValue().lastSeenMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static final class Activity {
+        private volatile long lastSeenMillis;
+        private volatile long flushedMillis;
+        private long pendingMillis;
+    }
+}
@@ -1,17 +1,19 @@
 package com.app.login.service;
 
-import com.app.login.entity.UserSession;
+import com.app.login.audit.AuditLogWriter;
 import com.app.login.entity.AuditLog;
 import com.app.login.repository.UserSessionRepository;
-import com.app.login.repository.AuditLogRepository;
+import com.app.login.security.RevokedTokenIndex;
+import com.app.login.security.TokenDigest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 /**
@@ -23,61 +25,116 @@ import java.util.List;
 public class SessionService {
 
     private final UserSessionRepository sessionRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionActivityTracker activityTracker;
+    private final RevokedTokenIndex revokedTokens;
 
     @Value("${session.idle-timeout:300000}") // 5 minutes default
     private Long idleTimeout;
 
+    @Value("${jwt.expiration:3600000}")
+    private Long jwtExpiration;
+
+    @Value("${session.expiry-chunk-size:1000}")
+    private int expiryChunkSize;
+
     /**
-     * Update session activity
+     * Update session activity.
+     * Recorded in memory and written behind by SessionActivityTracker.
      */
-    @Transactional
     public void updateSessionActivity(String token) {
-        sessionRepository.findBySessionToken(token).ifPresent(session -> {
-            session.setLastActivity(LocalDateTime.now());
-            sessionRepository.save(session);
-        });
+        activityTracker.touch(TokenDigest.of(token));
     }
 
     /**
-     * Check if session is expired
+     * Check if session is expired.
+     * Recent in-memory activity answers without touching the database.
      */
     public boolean isSessionExpired(String token) {
-        return sessionRepository.findBySessionToken(token)
+        TokenDigest digest = TokenDigest.of(token);
+        Long lastSeen = activityTracker.getLastSeen(digest);
+        if (lastSeen != null && System.currentTimeMillis() - lastSeen <= idleTimeout) {
+            return false;
+        }
+        return sessionRepository.findByTokenDigest(digest.toBytes())
                 .map(session -> session.isExpired(idleTimeout))
                 .orElse(true);
     }
 
     /**
      * Scheduled task to auto-logout inactive sessions
-     * Runs every minute
+     * Runs every minute. Expires sessions in fixed-size chunks, each in its own
+     * short transaction, so memory use and transaction size stay bounded no
+     * matter how large the backlog is.
      */
     @Scheduled(fixedRate = 60000) // Every 1 minute
-    @Transactional
     public void autoLogoutInactiveSessions() {
+        // Persist pending in-memory activity first so recently active sessions are not expired
+        activityTracker.flush();
+
         LocalDateTime threshold = LocalDateTime.now().minusNanos(idleTimeout * 1_000_000);
-        List<UserSession> expiredSessions = sessionRepository.findByActiveTrueAndLastActivityBefore(threshold);
-
-        if (!expiredSessions.isEmpty()) {
-            log.info("Auto-logout: Found {} expired sessions", expiredSessions.size());
-            
-            expiredSessions.forEach(session -> {
-                session.setActive(false);
-                session.setLogoutTime(LocalDateTime.now());
-                sessionRepository.save(session);
-
-                // Log auto-logout event
-                AuditLog auditLog = AuditLog.builder()
-                        .username(session.getUser().getUsername())
-                        .eventType(AuditLog.EventType.AUTO_LOGOUT)
-                        .success(true)
-                        .message("Session expired due to inactivity")
-                        .eventTime(LocalDateTime.now())
-                        .build();
-                auditLogRepository.save(auditLog);
-
-                log.info("Auto-logout: Session expired for user {}", session.getUser().getUsername());
-            });
+        int total = 0;
+        List<UserSessionRepository.ExpiredSessionView> chunk;
+
+        do {
+            chunk = transactionTemplate.execute(status -> expireChunk(threshold));
+            if (chunk == null) {
+                break;
+            }
+            for (UserSessionRepository.ExpiredSessionView session : chunk) {
+                if (session.getTokenDigest() != null) {
+                    TokenDigest digest = TokenDigest.fromBytes(session.getTokenDigest());
+                    activityTracker.forget(digest);
+                    revokeUntilTokenExpiry(digest, session.getLoginTime());
+                }
+            }
+            auditAutoLogouts(chunk);
+            total += chunk.size();
+        } while (chunk.size() == expiryChunkSize);
+
+        if (total > 0) {
+            log.info("Auto-logout: Expired {} inactive sessions", total);
+        }
+    }
+
+    /**
+     * Deactivate one chunk of idle sessions and return exactly the sessions this
+     * call deactivated, so only those are revoked and audited. The chunk's rows
+     * stay locked from selection to commit, so a concurrent logout or another
+     * instance's sweep can neither end them in between nor be double-counted.
+     */
+    private List<UserSessionRepository.ExpiredSessionView> expireChunk(LocalDateTime threshold) {
+        List<Long> ids = sessionRepository.lockIdleSessionIds(threshold, expiryChunkSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<UserSessionRepository.ExpiredSessionView> chunk = sessionRepository.findActiveSessionViews(ids);
+        int deactivated = sessionRepository.deactivateSessions(ids, LocalDateTime.now());
+        if (deactivated != ids.size() || chunk.size() != ids.size()) {
+            // Cannot happen while the rows are locked; roll back rather than audit the wrong sessions
+            throw new IllegalStateException("Locked " + ids.size() + " idle sessions but deactivated " + deactivated);
+        }
+        return chunk;
+    }
+
+    private void revokeUntilTokenExpiry(TokenDigest digest, LocalDateTime loginTime) {
+        if (loginTime != null) {
+            long issuedAt = loginTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            revokedTokens.revoke(digest, issuedAt + jwtExpiration);
+        }
+    }
+
+    private void auditAutoLogouts(List<UserSessionRepository.ExpiredSessionView> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        for (UserSessionRepository.ExpiredSessionView session : chunk) {
+            auditLogWriter.submit(AuditLog.builder()
+                    .username(session.getUsername())
+                    .eventType(AuditLog.EventType.AUTO_LOGOUT)
+                    .success(true)
+                    .message("Session expired due to inactivity")
+                    .eventTime(now)
+                    .build());
         }
     }
 
@@ -0,0 +1,34 @@
+package com.app.login.service;
+
+import org.springframework.stereotype.Component;
+
+import com.app.login.config.BankProperties;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resolves the tenant a request is for: an explicit tenant header wins, then
+ * the host the request was sent to, then the default tenant. Uses only the
+ * in-memory registry in BankConfigService.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantResolver {
+
+    private final BankConfigService bankConfigService;
+    private final BankProperties bankProperties;
+
+    public String resolve(HttpServletRequest request) {
+        String tenantId = request.getHeader(bankProperties.getTenantHeader());
+        if (tenantId != null && !tenantId.isBlank()) {
+            return tenantId.trim();
+        }
+        String hostTenant = bankConfigService.findTenantByHost(request.getServerName());
+        return hostTenant != null ? hostTenant : bankConfigService.getDefaultTenant();
+    }
+
+    public String getTenantHeader() {
+        return bankProperties.getTenantHeader();
+    }
+}
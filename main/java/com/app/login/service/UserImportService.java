@@ -0,0 +1,611 @@
+package com.app.login.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.app.login.audit.AuditLogWriter;
+import com.app.login.cache.RoleCache;
+import com.app.login.dto.RegisterRequest;
+import com.app.login.dto.UserImportReport;
+import com.app.login.entity.AuditLog;
+import com.app.login.entity.Role;
+import com.app.login.entity.UserImportJob;
+import com.app.login.repository.UserImportJobRepository;
+import com.app.login.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk user import from CSV or NDJSON uploads.
+ * The upload is streamed in fixed-size chunks; each chunk is validated,
+ * checked against existing users with one query, hashed in parallel on a
+ * small pool capped well below the core count (so /login keeps its hashing
+ * capacity while an import runs) and inserted with JDBC batches
+ * (users + user_roles) in its own transaction. Bad rows are reported
+ * individually without aborting the job. Progress is written to
+ * user_import_jobs after every chunk, so the last committed row survives a
+ * crash; users that already exist are skipped, so a job can be safely re-run,
+ * or resumed from that row.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (username, password, email, mobile_number, active, account_locked, "
+                    + "failed_login_attempts, preferred_language, preferred_currency, created_at, updated_at, created_by) "
+                    + "VALUES (?, ?, ?, ?, true, false, 0, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromFileName(String fileName) {
+            String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import file type, expected .csv, .ndjson or .jsonl");
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final UserImportJobRepository importJobRepository;
+    private final RoleCache roleCache;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final AuditLogWriter auditLogWriter;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    private final ExecutorService jobExecutor;
+    private final ExecutorService hashingPool;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public UserImportService(UserRepository userRepository, UserImportJobRepository importJobRepository,
+                             RoleCache roleCache, PasswordEncoder passwordEncoder,
+                             JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             Validator validator, ObjectMapper objectMapper, AuditLogWriter auditLogWriter,
+                             @Value("${user-import.chunk-size:500}") int chunkSize,
+                             @Value("${user-import.hashing-threads:0}") int hashingThreads,
+                             @Value("${user-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.importJobRepository = importJobRepository;
+        this.roleCache = roleCache;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.auditLogWriter = auditLogWriter;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.jobExecutor = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "user-import"));
+        // Login verification owns the cores; an import gets a quarter of them by default
+        this.hashingPool = Executors.newFixedThreadPool(
+                hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4),
+                runnable -> daemon(runnable, "user-import-hashing"));
+    }
+
+    /**
+     * Start an import job. The upload is copied to a temporary file and
+     * processed in the background; poll getReport for progress.
+     */
+    public UserImportReport startImport(MultipartFile file, long resumeFromRow, String startedBy) throws IOException {
+        Format format = Format.fromFileName(file.getOriginalFilename());
+        Path upload = Files.createTempFile("user-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        file.transferTo(upload);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        job.lastCommittedRow = resumeFromRow;
+        importJobRepository.save(UserImportJob.builder()
+                .id(job.id)
+                .fileName(job.fileName)
+                .status(job.status)
+                .startedBy(startedBy)
+                .lastCommittedRow(resumeFromRow)
+                .startedAt(job.startedAt)
+                .updatedAt(job.startedAt)
+                .build());
+        jobs.put(job.id, job);
+        jobExecutor.submit(() -> run(job, upload, format, resumeFromRow, startedBy));
+        log.info("User import {} queued for file {} (resume from row {})", job.id, job.fileName, resumeFromRow);
+        return job.snapshot();
+    }
+
+    /**
+     * Live report for a job running on this instance, otherwise the persisted
+     * progress (e.g. after a restart, or for a job started on another instance)
+     */
+    public UserImportReport getReport(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job != null) {
+            return job.snapshot();
+        }
+        return importJobRepository.findById(jobId).map(UserImportService::toReport).orElse(null);
+    }
+
+    private static UserImportReport toReport(UserImportJob job) {
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : job.getUpdatedAt();
+        long elapsedMillis = Duration.between(job.getStartedAt(), end).toMillis();
+        return UserImportReport.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .fileName(job.getFileName())
+                .rowsRead(job.getRowsRead())
+                .imported(job.getImported())
+                .skipped(job.getSkipped())
+                .failed(job.getFailed())
+                .lastCommittedRow(job.getLastCommittedRow())
+                .elapsedMillis(elapsedMillis)
+                .usersPerSecond(elapsedMillis > 0 ? job.getImported() * 1000.0 / elapsedMillis : 0)
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .errors(List.of()) // per-row errors are only kept in memory
+                .errorsTruncated(job.getFailed() > 0)
+                .message(job.getMessage())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    private void run(ImportJob job, Path upload, Format format, long resumeFromRow, String startedBy) {
+        try (BufferedReader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8)) {
+            RowReader rows = new RowReader(reader, format);
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                job.rowsRead++;
+                if (row.number <= resumeFromRow) {
+                    job.skipped++;
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(job, chunk, startedBy);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk, startedBy);
+            }
+            finish(job, "COMPLETED", null);
+            log.info("User import {} completed: {} imported, {} skipped, {} failed ({} users/sec)",
+                    job.id, job.imported, job.skipped, job.failed, String.format("%.1f", job.usersPerSecond()));
+        } catch (Exception e) {
+            log.error("User import {} failed after row {}", job.id, job.lastCommittedRow, e);
+            finish(job, "FAILED", "Import stopped: " + e.getMessage() + ". Resume from row " + job.lastCommittedRow);
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import upload {}", upload, e);
+            }
+        }
+    }
+
+    private void processChunk(ImportJob job, List<ImportRow> chunk, String startedBy) throws InterruptedException {
+        List<ImportRow> candidates = validate(job, chunk);
+        candidates = removeExisting(job, candidates);
+
+        if (!candidates.isEmpty()) {
+            List<String> hashes = hashPasswords(candidates);
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertBatch(candidates, hashes, startedBy));
+                job.imported += candidates.size();
+                auditImported(candidates);
+            } catch (DataIntegrityViolationException e) {
+                // Another writer created one of these users meanwhile; fall back to row-by-row
+                insertRowByRow(job, candidates, hashes, startedBy);
+            }
+        }
+
+        job.lastCommittedRow = chunk.get(chunk.size() - 1).number;
+        importJobRepository.recordProgress(job.id, job.rowsRead, job.imported, job.skipped, job.failed,
+                job.lastCommittedRow, LocalDateTime.now());
+        log.info("User import {}: committed through row {} ({} imported, {} users/sec)",
+                job.id, job.lastCommittedRow, job.imported, String.format("%.1f", job.usersPerSecond()));
+    }
+
+    private void finish(ImportJob job, String status, String message) {
+        job.finish(status, message);
+        try {
+            importJobRepository.recordProgress(job.id, job.rowsRead, job.imported, job.skipped, job.failed,
+                    job.lastCommittedRow, job.finishedAt);
+            importJobRepository.finish(job.id, status,
+                    message != null && message.length() > 1000 ? message.substring(0, 1000) : message, job.finishedAt);
+        } catch (RuntimeException e) {
+            log.error("Could not persist final state of user import {}", job.id, e);
+        }
+    }
+
+    private List<ImportRow> validate(ImportJob job, List<ImportRow> chunk) {
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        Set<String> usernames = identifierSet();
+        Set<String> emails = identifierSet();
+        Set<String> mobileNumbers = new HashSet<>();
+
+        for (ImportRow row : chunk) {
+            if (row.parseError != null) {
+                job.fail(row, row.parseError);
+                continue;
+            }
+            Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(row.request);
+            if (!violations.isEmpty()) {
+                job.fail(row, violations.stream().map(ConstraintViolation::getMessage)
+                        .sorted().collect(Collectors.joining("; ")));
+                continue;
+            }
+            RegisterRequest request = row.request;
+            if (!usernames.add(request.getUsername())) {
+                job.fail(row, "Duplicate username in file");
+            } else if (!emails.add(request.getEmail())) {
+                job.fail(row, "Duplicate email in file");
+            } else if (request.getMobileNumber() != null && !mobileNumbers.add(request.getMobileNumber())) {
+                job.fail(row, "Duplicate mobile number in file");
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Usernames and emails compare the way the case-insensitive MySQL collation does
+     */
+    private static Set<String> identifierSet() {
+        return new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    private List<ImportRow> removeExisting(ImportJob job, List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> mobileNumbers = new HashSet<>();
+        for (ImportRow row : rows) {
+            usernames.add(row.request.getUsername());
+            emails.add(row.request.getEmail());
+            if (row.request.getMobileNumber() != null) {
+                mobileNumbers.add(row.request.getMobileNumber());
+            }
+        }
+
+        Set<String> existingUsernames = identifierSet();
+        Set<String> existingEmails = identifierSet();
+        Set<String> existingMobileNumbers = new HashSet<>();
+        for (UserRepository.UserIdentityView existing : userRepository.findIdentityConflicts(usernames, emails, mobileNumbers)) {
+            existingUsernames.add(existing.getUsername());
+            existingEmails.add(existing.getEmail());
+            if (existing.getMobileNumber() != null) {
+                existingMobileNumbers.add(existing.getMobileNumber());
+            }
+        }
+
+        List<ImportRow> remaining = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            RegisterRequest request = row.request;
+            if (existingUsernames.contains(request.getUsername())) {
+                job.skipped++;
+            } else if (existingEmails.contains(request.getEmail())) {
+                job.fail(row, "Email already exists");
+            } else if (request.getMobileNumber() != null && existingMobileNumbers.contains(request.getMobileNumber())) {
+                job.fail(row, "Mobile number already exists");
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    private List<String> hashPasswords(List<ImportRow> rows) throws InterruptedException {
+        List<Callable<String>> tasks = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String rawPassword = row.request.getPassword();
+            tasks.add(() -> passwordEncoder.encode(rawPassword));
+        }
+        List<String> hashes = new ArrayList<>(rows.size());
+        for (Future<String> future : hashingPool.invokeAll(tasks)) {
+            try {
+                hashes.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Password hashing failed", e.getCause());
+            }
+        }
+        return hashes;
+    }
+
+    private void insertBatch(List<ImportRow> rows, List<String> hashes, String startedBy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            RegisterRequest request = rows.get(i).request;
+            users.add(new Object[] {
+                    request.getUsername(), hashes.get(i), request.getEmail(), request.getMobileNumber(),
+                    request.getPreferredLanguage(), request.getPreferredCurrency(), now, now, startedBy
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users);
+
+        Long roleId = roleCache.get(Role.RoleName.ROLE_USER).getId();
+        List<String> usernames = rows.stream().map(row -> row.request.getUsername()).toList();
+        List<Object[]> userRoles = userRepository.findIdsByUsernameIn(usernames).stream()
+                .map(view -> new Object[] {view.getId(), roleId})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, userRoles);
+    }
+
+    private void insertRowByRow(ImportJob job, List<ImportRow> rows, List<String> hashes, String startedBy) {
+        for (int i = 0; i < rows.size(); i++) {
+            List<ImportRow> single = List.of(rows.get(i));
+            List<String> hash = List.of(hashes.get(i));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertBatch(single, hash, startedBy));
+                job.imported++;
+                auditImported(single);
+            } catch (DataIntegrityViolationException e) {
+                job.fail(rows.get(i), "Username, email or mobile number already exists");
+            }
+        }
+    }
+
+    private void auditImported(List<ImportRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        for (ImportRow row : rows) {
+            auditLogWriter.submit(AuditLog.builder()
+                    .username(row.request.getUsername())
+                    .eventType(AuditLog.EventType.USER_REGISTERED)
+                    .success(true)
+                    .message("User imported in bulk")
+                    .eventTime(now)
+                    .build());
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class ImportRow {
+        private final long number;
+        private final RegisterRequest request;
+        private final String parseError;
+
+        private ImportRow(long number, RegisterRequest request, String parseError) {
+            this.number = number;
+            this.request = request;
+            this.parseError = parseError;
+        }
+    }
+
+    /**
+     * Reads one data row at a time from a CSV (with header) or NDJSON upload
+     */
+    private final class RowReader {
+        private final BufferedReader reader;
+        private final Format format;
+        private Map<String, Integer> columns;
+        private long rowNumber;
+
+        private RowReader(BufferedReader reader, Format format) {
+            this.reader = reader;
+            this.format = format;
+        }
+
+        private ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = readHeader(line);
+                    continue;
+                }
+                rowNumber++;
+                try {
+                    RegisterRequest request = format == Format.CSV
+                            ? fromCsv(parseCsvLine(line))
+                            : objectMapper.readValue(line, RegisterRequest.class);
+                    return new ImportRow(rowNumber, request, null);
+                } catch (Exception e) {
+                    return new ImportRow(rowNumber, null, "Unreadable row: " + e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        private Map<String, Integer> readHeader(String line) {
+            List<String> names = parseCsvLine(line);
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                header.put(names.get(i).trim(), i);
+            }
+            if (!header.containsKey("username") || !header.containsKey("password") || !header.containsKey("email")) {
+                throw new IllegalArgumentException("CSV header must include username, password and email");
+            }
+            return header;
+        }
+
+        private RegisterRequest fromCsv(List<String> values) {
+            RegisterRequest request = new RegisterRequest();
+            request.setUsername(column(values, "username"));
+            request.setPassword(column(values, "password"));
+            request.setEmail(column(values, "email"));
+            request.setMobileNumber(column(values, "mobileNumber"));
+            String language = column(values, "preferredLanguage");
+            if (language != null) {
+                request.setPreferredLanguage(language);
+            }
+            String currency = column(values, "preferredCurrency");
+            if (currency != null) {
+                request.setPreferredCurrency(currency);
+            }
+            return request;
+        }
+
+        private String column(List<String> values, String name) {
+            Integer index = columns.get(name);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index);
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and "" escapes
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    /**
+     * Mutable job state. Counters are written only by the import thread and
+     * read by report requests, so they are volatile rather than synchronized.
+     */
+    private final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final List<UserImportReport.RowError> errors = new ArrayList<>();
+
+        private volatile String status = "RUNNING";
+        private volatile long rowsRead;
+        private volatile long imported;
+        private volatile long skipped;
+        private volatile long failed;
+        private volatile long lastCommittedRow;
+        private volatile long elapsedMillis = -1;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+
+        private ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        private void fail(ImportRow row, String error) {
+            failed++;
+            synchronized (errors) {
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new UserImportReport.RowError(row.number,
+                            row.request != null ? row.request.getUsername() : null, error));
+                }
+            }
+        }
+
+        private void finish(String finalStatus, String finalMessage) {
+            elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            finishedAt = LocalDateTime.now();
+            message = finalMessage;
+            status = finalStatus;
+        }
+
+        private long elapsed() {
+            return elapsedMillis >= 0 ? elapsedMillis : (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        private double usersPerSecond() {
+            long elapsed = elapsed();
+            return elapsed > 0 ? imported * 1000.0 / elapsed : 0;
+        }
+
+        private UserImportReport snapshot() {
+            List<UserImportReport.RowError> reportedErrors;
+            synchronized (errors) {
+                reportedErrors = List.copyOf(errors);
+            }
+            return UserImportReport.builder()
+                    .jobId(id)
+                    .status(status)
+                    .fileName(fileName)
+                    .rowsRead(rowsRead)
+                    .imported(imported)
+                    .skipped(skipped)
+                    .failed(failed)
+                    .lastCommittedRow(lastCommittedRow)
+                    .elapsedMillis(elapsed())
+                    .usersPerSecond(usersPerSecond())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .errors(reportedErrors)
+                    .errorsTruncated(failed > reportedErrors.size())
+                    .message(message)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+-- One-time conversion of audit_logs to monthly RANGE COLUMNS(event_time) partitions.
+-- Partitioning needs event_time in the primary key, so the key becomes (id, event_time).
+-- Both ALTERs rebuild the table: run this in a maintenance window (or feed the same ALTERs to
+-- pt-online-schema-change / gh-ost), never from the service. Once the table is partitioned the
+-- service adds upcoming months and drops expired ones (AuditLogPartitionManager); until then it
+-- applies retention with chunked deletes.
+--
+--   mysql login_db < audit_logs_partitioning.sql
+--
+-- The arguments to CALL are audit.retention-months and audit.partitioning.months-ahead.
+
+DELIMITER //
+
+DROP PROCEDURE IF EXISTS partition_audit_logs //
+
+CREATE PROCEDURE partition_audit_logs(IN retention_months INT, IN months_ahead INT)
+BEGIN
+    DECLARE first_month DATE;
+    DECLARE last_month DATE;
+    DECLARE month_start DATE;
+    DECLARE partitions TEXT DEFAULT '';
+
+    IF EXISTS (SELECT 1 FROM information_schema.PARTITIONS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_logs' AND PARTITION_NAME IS NOT NULL) THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'audit_logs is already partitioned';
+    END IF;
+
+    -- The first partition also holds every older row, since it has no lower bound
+    SET first_month = DATE_FORMAT(GREATEST(DATE(COALESCE((SELECT MIN(event_time) FROM audit_logs), CURRENT_DATE)),
+                                           CURRENT_DATE - INTERVAL retention_months MONTH), '%Y-%m-01');
+    SET last_month = DATE_FORMAT(CURRENT_DATE + INTERVAL months_ahead MONTH, '%Y-%m-01');
+    SET month_start = first_month;
+    WHILE month_start <= last_month DO
+        SET partitions = CONCAT(partitions, 'PARTITION p', DATE_FORMAT(month_start, '%Y%m'),
+                                ' VALUES LESS THAN (''', month_start + INTERVAL 1 MONTH, ' 00:00:00''), ');
+        SET month_start = month_start + INTERVAL 1 MONTH;
+    END WHILE;
+
+    UPDATE audit_logs SET event_time = CURRENT_TIMESTAMP(6) WHERE event_time IS NULL;
+    ALTER TABLE audit_logs MODIFY event_time DATETIME(6) NOT NULL;
+    ALTER TABLE audit_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, event_time);
+
+    SET @partition_ddl = CONCAT('ALTER TABLE audit_logs PARTITION BY RANGE COLUMNS(event_time) (',
+                                partitions, 'PARTITION pmax VALUES LESS THAN (MAXVALUE))');
+    PREPARE partition_statement FROM @partition_ddl;
+    EXECUTE partition_statement;
+    DEALLOCATE PREPARE partition_statement;
+END //
+
+DELIMITER ;
+
+CALL partition_audit_logs(12, 3);
+
+DROP PROCEDURE partition_audit_logs;
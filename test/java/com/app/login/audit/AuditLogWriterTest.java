@@ -0,0 +1,59 @@
+package com.app.login.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.app.login.entity.AuditLog;
+
+/**
+ * A batch holding an event the database rejects still writes every other
+ * event, and over-long identifiers are cut to the column length instead of
+ * failing the insert. The writer is never started, so stop() flushes the
+ * queue on the test thread.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditLogWriterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void badEventDoesNotTakeItsBatchDown() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, transactionManager,
+                100, 100, 1000, AuditLogWriter.BackpressurePolicy.DROP, 0);
+        String longIdentifier = "x".repeat(300);
+
+        writer.submit(event("before", "batch-retry"));
+        writer.submit(event(longIdentifier, "batch-retry"));
+        writer.submit(event(null, "batch-retry"));
+        writer.submit(event("after", "batch-retry"));
+        writer.stop();
+
+        List<String> usernames = jdbcTemplate.queryForList(
+                "SELECT username FROM audit_logs WHERE message = 'batch-retry' ORDER BY id", String.class);
+        assertThat(usernames).containsExactly("before", longIdentifier.substring(0, 255), "after");
+    }
+
+    private static AuditLog event(String username, String message) {
+        return AuditLog.builder()
+                .username(username)
+                .eventType(AuditLog.EventType.LOGIN_FAILURE)
+                .success(false)
+                .message(message)
+                .eventTime(LocalDateTime.now())
+                .build();
+    }
+}
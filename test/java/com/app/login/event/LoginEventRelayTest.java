@@ -0,0 +1,192 @@
+package com.app.login.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.login.entity.OutboxEvent;
+import com.app.login.metrics.AuthMetrics;
+import com.app.login.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * LoginEventRelay against a broker stand-in: a publisher whose per-event
+ * outcome (ack, broker error, synchronous throw, no ack) is scripted, and a
+ * transaction manager that records whether a transaction is open while the
+ * relay is sending.
+ */
+class LoginEventRelayTest {
+
+    private static final long SEND_TIMEOUT_MILLIS = 200;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final OutboxEventRepository outboxRepository = mock(OutboxEventRepository.class);
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+    private final StandInBroker broker = new StandInBroker(transactionManager);
+
+    @Test
+    void publishesAcknowledgedRowsAndRetriesEveryKindOfFailure() {
+        List<OutboxEvent> batch = List.of(row(1, "acked"), row(2, "rejected"), row(3, "throws"), row(4, "silent"));
+        when(outboxRepository.lockClaimable(any(), any())).thenReturn(batch);
+        broker.script("acked", () -> CompletableFuture.completedFuture(null));
+        broker.script("rejected", () -> CompletableFuture.failedFuture(new IllegalStateException("NOT_LEADER")));
+        broker.script("throws", () -> {
+            throw new IllegalStateException("Topic login-events not present in metadata after 5000 ms");
+        });
+        broker.script("silent", CompletableFuture::new);
+
+        LoginEventRelay relay = relay(10);
+        relay.relay();
+
+        assertThat(broker.sent).containsExactly("acked", "rejected", "throws", "silent");
+        assertThat(broker.sentInsideTransaction).isFalse();
+        verify(outboxRepository).claim(eq(List.of(1L, 2L, 3L, 4L)), any(LocalDateTime.class));
+        verify(outboxRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxRepository).recordFailedAttempt(eq(List.of(2L, 3L, 4L)), any(LocalDateTime.class));
+        verify(outboxRepository, never()).markFailed(anyCollection(), any());
+        verify(outboxRepository, never()).release(anyCollection());
+        assertThat(relay.getPublishedCount()).isEqualTo(1);
+        assertThat(relay.getFailedCount()).isEqualTo(3);
+        // Claim, then mark: two short transactions, both committed
+        assertThat(transactionManager.committed).isEqualTo(2);
+        assertThat(transactionManager.open).isZero();
+    }
+
+    @Test
+    void rowsOutOfAttemptsAreDeadLettered() {
+        OutboxEvent lastChance = row(1, "last-chance");
+        lastChance.setAttempts(MAX_ATTEMPTS - 1);
+        OutboxEvent firstTry = row(2, "first-try");
+        when(outboxRepository.lockClaimable(any(), any())).thenReturn(List.of(lastChance, firstTry));
+        broker.script("last-chance", () -> CompletableFuture.failedFuture(new IllegalStateException("RECORD_TOO_LARGE")));
+        broker.script("first-try", () -> CompletableFuture.failedFuture(new IllegalStateException("RECORD_TOO_LARGE")));
+
+        LoginEventRelay relay = relay(10);
+        relay.relay();
+
+        verify(outboxRepository).markFailed(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxRepository).recordFailedAttempt(eq(List.of(2L)), any(LocalDateTime.class));
+        assertThat(relay.getDeadLetteredCount()).isEqualTo(1);
+        assertThat(relay.getFailedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fullBatchesKeepDrainingUntilAShortOne() {
+        when(outboxRepository.lockClaimable(any(), any()))
+                .thenReturn(List.of(row(1, "a"), row(2, "b")))
+                .thenReturn(List.of(row(3, "c")));
+        for (String eventId : List.of("a", "b", "c")) {
+            broker.script(eventId, () -> CompletableFuture.completedFuture(null));
+        }
+
+        LoginEventRelay relay = relay(2);
+        relay.relay();
+
+        verify(outboxRepository, times(2)).lockClaimable(any(), any());
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxRepository).markPublished(eq(List.of(3L)), any(LocalDateTime.class));
+        assertThat(relay.getPublishedCount()).isEqualTo(3);
+        assertThat(broker.sentInsideTransaction).isFalse();
+    }
+
+    @Test
+    void emptyOutboxSendsNothing() {
+        when(outboxRepository.lockClaimable(any(), any())).thenReturn(List.of());
+
+        relay(10).relay();
+
+        assertThat(broker.sent).isEmpty();
+        verify(outboxRepository, never()).claim(anyCollection(), any());
+        verify(outboxRepository, never()).markPublished(anyCollection(), any());
+    }
+
+    private LoginEventRelay relay(int batchSize) {
+        return new LoginEventRelay(outboxRepository, broker, new TransactionTemplate(transactionManager),
+                new AuthMetrics(new SimpleMeterRegistry(), true, false),
+                batchSize, SEND_TIMEOUT_MILLIS, 10 * SEND_TIMEOUT_MILLIS, MAX_ATTEMPTS, 30_000, 60_000, 86_400_000);
+    }
+
+    private static OutboxEvent row(long id, String eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .id(id)
+                .eventId(eventId)
+                .eventType("LOGIN")
+                .username("user" + id)
+                .eventTime(now)
+                .createdAt(now)
+                .build();
+    }
+
+    /**
+     * Stands in for the Kafka producer: each event's send outcome is scripted by eventId
+     */
+    private static final class StandInBroker extends LoginEventPublisher {
+        private final CountingTransactionManager transactionManager;
+        private final Map<String, Supplier<CompletableFuture<SendResult<String, LoginEvent>>>> outcomes =
+                new ConcurrentHashMap<>();
+        private final List<String> sent = new ArrayList<>();
+        private volatile boolean sentInsideTransaction;
+
+        private StandInBroker(CountingTransactionManager transactionManager) {
+            super(null);
+            this.transactionManager = transactionManager;
+        }
+
+        private void script(String eventId, Supplier<CompletableFuture<SendResult<String, LoginEvent>>> outcome) {
+            outcomes.put(eventId, outcome);
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, LoginEvent>> send(LoginEvent event) {
+            sent.add(event.getEventId());
+            sentInsideTransaction |= transactionManager.open > 0;
+            return outcomes.get(event.getEventId()).get();
+        }
+    }
+
+    private static final class CountingTransactionManager implements PlatformTransactionManager {
+        private int open;
+        private int committed;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            open++;
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            open--;
+            committed++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            open--;
+        }
+    }
+}
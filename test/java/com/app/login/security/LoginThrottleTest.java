@@ -0,0 +1,108 @@
+package com.app.login.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.login.exception.LoginThrottledException;
+
+/**
+ * Admission behaviour of LoginThrottle under a credential-stuffing spray that
+ * runs at the same time, on the same instance, as legitimate logins.
+ */
+class LoginThrottleTest {
+
+    private static final int MAX_PER_IP = 60;
+    private static final int MAX_PER_IDENTIFIER = 10;
+    private static final int SPRAY_IPS = 256;
+    private static final int SPRAY_THREADS = 8;
+    private static final int SPRAY_ATTEMPTS_PER_THREAD = 50_000;
+    private static final int LEGITIMATE_THREADS = 2;
+    private static final int LEGITIMATE_USERS_PER_THREAD = 10_000;
+
+    // An hour-long window so the test never straddles a rotation in practice
+    private final LoginThrottle throttle = new LoginThrottle(true, 3_600_000, MAX_PER_IP, MAX_PER_IDENTIFIER, 4, 65536);
+
+    @Test
+    void sprayIsRejectedWhileLegitimateUsersGetThrough() throws Exception {
+        AtomicLong sprayAllowed = new AtomicLong();
+        AtomicLong sprayRejected = new AtomicLong();
+        AtomicLong legitimateRejected = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(SPRAY_THREADS + LEGITIMATE_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < SPRAY_THREADS; t++) {
+                int thread = t;
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < SPRAY_ATTEMPTS_PER_THREAD; i++) {
+                        String ip = "198.51.100." + (i % SPRAY_IPS);
+                        String identifier = "user" + (thread * SPRAY_ATTEMPTS_PER_THREAD + i);
+                        (admitted(ip, identifier) ? sprayAllowed : sprayRejected).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (int t = 0; t < LEGITIMATE_THREADS; t++) {
+                int thread = t;
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < LEGITIMATE_USERS_PER_THREAD; i++) {
+                        int n = thread * LEGITIMATE_USERS_PER_THREAD + i;
+                        String ip = "10." + (n >>> 16 & 0xff) + "." + (n >>> 8 & 0xff) + "." + (n & 0xff);
+                        if (!admitted(ip, "customer" + n + "@example.com")) {
+                            legitimateRejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Check-then-increment may let each racing thread through once more per IP
+        long sprayBudget = (long) SPRAY_IPS * (MAX_PER_IP + SPRAY_THREADS);
+        assertThat(sprayAllowed.get()).isLessThanOrEqualTo(sprayBudget);
+        assertThat(sprayRejected.get()).isGreaterThanOrEqualTo((long) SPRAY_THREADS * SPRAY_ATTEMPTS_PER_THREAD - sprayBudget);
+        assertThat(legitimateRejected.get()).isZero();
+        assertThat(throttle.getRejectedByIpCount()).isEqualTo(sprayRejected.get());
+    }
+
+    @Test
+    void targetedAccountIsRejectedAcrossRotatingIps() {
+        for (int i = 0; i < MAX_PER_IDENTIFIER; i++) {
+            throttle.check("203.0.113." + i, "victim@example.com");
+        }
+
+        assertThatThrownBy(() -> throttle.check("203.0.113.200", " Victim@Example.com "))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThat(throttle.getRejectedByIdentifierCount()).isEqualTo(1);
+        // The rotating IPs themselves are far below their own limit
+        throttle.check("203.0.113.200", "someone-else@example.com");
+    }
+
+    private boolean admitted(String ip, String identifier) {
+        try {
+            throttle.check(ip, identifier);
+            return true;
+        } catch (LoginThrottledException e) {
+            return false;
+        }
+    }
+}
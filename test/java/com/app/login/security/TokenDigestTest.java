@@ -0,0 +1,50 @@
+package com.app.login.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Alternate spellings of one token must share a digest, and anything that is
+ * not an ASCII compact JWS must be rejected rather than hashed.
+ */
+class TokenDigestTest {
+
+    // HS256 signatures are 32 bytes: 43 base64url chars whose last one carries 4 unused bits
+    private static final String SIGNING_INPUT = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJhbGljZSIsImV4cCI6MTk5OTk5OTk5OX0";
+    private static final String SIGNATURE = "3q2-7wAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA_Q";
+    private static final String TOKEN = SIGNING_INPUT + "." + SIGNATURE;
+
+    @Test
+    void alternateSignatureSpellingsShareADigest() {
+        TokenDigest digest = TokenDigest.of(TOKEN);
+
+        assertThat(TokenDigest.of(TOKEN + "=")).isEqualTo(digest);
+        assertThat(TokenDigest.of(TOKEN.replace('-', '+').replace('_', '/'))).isEqualTo(digest);
+        // 'R' differs from 'Q' only in the unused low bits
+        assertThat(TokenDigest.of(SIGNING_INPUT + "." + SIGNATURE.replaceAll("Q$", "R"))).isEqualTo(digest);
+        assertThat(TokenDigest.of("Bearer " + TOKEN, "Bearer ".length())).isEqualTo(digest);
+    }
+
+    @Test
+    void differentSignaturesOrPayloadsDiffer() {
+        TokenDigest digest = TokenDigest.of(TOKEN);
+
+        assertThat(TokenDigest.of(SIGNING_INPUT + "." + SIGNATURE.replaceAll("Q$", "g"))).isNotEqualTo(digest);
+        assertThat(TokenDigest.of(SIGNING_INPUT + "x." + SIGNATURE)).isNotEqualTo(digest);
+    }
+
+    @Test
+    void rejectsNonAsciiAndMalformedTokens() {
+        // U+012E truncates to '.', so a byte cast would have hashed this as TOKEN
+        assertThatThrownBy(() -> TokenDigest.of(TOKEN.replace('.', '\u012E')))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenDigest.of(SIGNING_INPUT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenDigest.of(TOKEN + ".extra"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenDigest.of(SIGNING_INPUT + ".abc$"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
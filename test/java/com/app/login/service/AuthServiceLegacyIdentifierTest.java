@@ -0,0 +1,66 @@
+package com.app.login.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.app.login.dto.LoginRequest;
+import com.app.login.dto.RegisterRequest;
+import com.app.login.entity.User;
+
+/**
+ * Rows stored before registration enforced identifier shapes: a username
+ * containing '@' and a mobile number with separators must still log in once
+ * the startup check has found them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceLegacyIdentifierTest {
+
+    private static final String PASSWORD = "Correct-Horse-9";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void legacyShapedIdentifiersStillLogIn() {
+        User emailShaped = register("legacy-email");
+        User dashedMobile = register("legacy-mobile");
+        jdbcTemplate.update("UPDATE users SET username = ? WHERE id = ?", "legacy@name", emailShaped.getId());
+        jdbcTemplate.update("UPDATE users SET mobile_number = ? WHERE id = ?", "98765-43210", dashedMobile.getId());
+
+        authService.detectLegacyLoginIdentifiers();
+
+        assertThat(authService.login(login("legacy@name"), httpRequest()).getUserId()).isEqualTo(emailShaped.getId());
+        assertThat(authService.login(login("98765-43210"), httpRequest()).getUserId()).isEqualTo(dashedMobile.getId());
+    }
+
+    private User register(String username) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setPassword(PASSWORD);
+        request.setEmail(username + "@test.example");
+        return authService.register(request);
+    }
+
+    private static LoginRequest login(String identifier) {
+        return LoginRequest.builder()
+                .usernameOrEmailOrMobile(identifier)
+                .password(PASSWORD)
+                .build();
+    }
+
+    private static MockHttpServletRequest httpRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr("127.0.0.1");
+        return request;
+    }
+}
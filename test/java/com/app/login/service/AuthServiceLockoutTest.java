@@ -0,0 +1,139 @@
+package com.app.login.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.app.login.audit.AuditLogWriter;
+import com.app.login.dto.LoginRequest;
+import com.app.login.dto.LoginResponse;
+import com.app.login.dto.RegisterRequest;
+import com.app.login.entity.AuditLog;
+import com.app.login.entity.User;
+import com.app.login.repository.UserRepository;
+
+/**
+ * Failed-login counting against a real database: parallel failures must be
+ * counted without losing increments and lock the account exactly once, and
+ * an expired lock must be lifted by the next login.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceLockoutTest {
+
+    private static final String PASSWORD = "Correct-Horse-9";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private AuditLogWriter auditLogWriter;
+
+    @Value("${security.lockout.threshold:5}")
+    private int threshold;
+
+    @Test
+    void parallelFailuresLockTheAccountExactlyOnce() throws Exception {
+        User user = register("racer");
+        int attempts = threshold * 4;
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    assertThatThrownBy(() -> authService.login(login("racer", "Wrong-Password-1"), httpRequest()))
+                            .isInstanceOf(BadCredentialsException.class);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        User locked = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(locked.isAccountLocked()).isTrue();
+        assertThat(locked.getFailedLoginAttempts()).isEqualTo(threshold);
+        assertThat(locked.getLockedUntil()).isAfter(LocalDateTime.now());
+        verify(auditLogWriter, times(1)).submit(argThat(audit -> audit != null
+                && audit.getEventType() == AuditLog.EventType.ACCOUNT_LOCKED && "racer".equals(audit.getUsername())));
+    }
+
+    @Test
+    void expiredLockIsLiftedByTheNextLogin() {
+        User user = register("sleeper");
+        for (int i = 0; i < threshold; i++) {
+            assertThatThrownBy(() -> authService.login(login("sleeper", "Wrong-Password-1"), httpRequest()))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+        assertThatThrownBy(() -> authService.login(login("sleeper", PASSWORD), httpRequest()))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("locked");
+
+        jdbcTemplate.update("UPDATE users SET locked_until = ? WHERE id = ?",
+                LocalDateTime.now().minusSeconds(1), user.getId());
+
+        LoginResponse response = authService.login(login("sleeper", PASSWORD), httpRequest());
+        assertThat(response.getToken()).isNotBlank();
+
+        User unlocked = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(unlocked.isAccountLocked()).isFalse();
+        assertThat(unlocked.getFailedLoginAttempts()).isZero();
+        assertThat(unlocked.getLockedUntil()).isNull();
+        verify(auditLogWriter, times(1)).submit(argThat(audit -> audit != null
+                && audit.getEventType() == AuditLog.EventType.ACCOUNT_UNLOCKED && "sleeper".equals(audit.getUsername())));
+    }
+
+    private User register(String username) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setPassword(PASSWORD);
+        request.setEmail(username + "@test.example");
+        return authService.register(request);
+    }
+
+    private static LoginRequest login(String identifier, String password) {
+        return LoginRequest.builder()
+                .usernameOrEmailOrMobile(identifier)
+                .password(password)
+                .build();
+    }
+
+    private static MockHttpServletRequest httpRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr("127.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,87 @@
+package com.app.login.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.login.audit.AuditLogWriter;
+import com.app.login.dto.LoginRequest;
+import com.app.login.dto.LoginResponse;
+import com.app.login.dto.RegisterRequest;
+import com.app.login.entity.AuditLog;
+
+/**
+ * The LOGIN_SUCCESS audit is submitted only once the login transaction
+ * commits: a login rolled back after the session was created is not audited.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceLoginAuditTest {
+
+    private static final String PASSWORD = "Correct-Horse-9";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private AuditLogWriter auditLogWriter;
+
+    @Test
+    void committedLoginIsAudited() {
+        register("committer");
+
+        LoginResponse response = authService.login(login("committer"), httpRequest());
+
+        assertThat(response.getToken()).isNotBlank();
+        verify(auditLogWriter, times(1)).submit(argThat(audit -> audit != null
+                && audit.getEventType() == AuditLog.EventType.LOGIN_SUCCESS && "committer".equals(audit.getUsername())));
+    }
+
+    @Test
+    void rolledBackLoginIsNotAudited() {
+        register("rollback");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(authService.login(login("rollback"), httpRequest()).getToken()).isNotBlank();
+            status.setRollbackOnly();
+        });
+
+        verify(auditLogWriter, never()).submit(argThat(audit -> audit != null
+                && audit.getEventType() == AuditLog.EventType.LOGIN_SUCCESS && "rollback".equals(audit.getUsername())));
+    }
+
+    private void register(String username) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setPassword(PASSWORD);
+        request.setEmail(username + "@test.example");
+        authService.register(request);
+    }
+
+    private static LoginRequest login(String identifier) {
+        return LoginRequest.builder()
+                .usernameOrEmailOrMobile(identifier)
+                .password(PASSWORD)
+                .build();
+    }
+
+    private static MockHttpServletRequest httpRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr("127.0.0.1");
+        return request;
+    }
+}
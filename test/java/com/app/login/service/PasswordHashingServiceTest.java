@@ -0,0 +1,88 @@
+package com.app.login.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Background re-hashing must never take the queue space that logins need:
+ * it is capped in flight and refused once the queue is half full.
+ */
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final PasswordHashingService service =
+            new PasswordHashingService(new BlockingEncoder(release), 1, 4, 5000);
+    private final ExecutorService callers = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        service.shutdown();
+    }
+
+    @Test
+    void backgroundWorkIsCappedInFlight() {
+        assertThat(service.encodeInBackground("first", hash -> { })).isTrue();
+        assertThat(service.encodeInBackground("second", hash -> { })).isFalse();
+    }
+
+    @Test
+    void backgroundWorkIsRefusedOnceTheQueueIsHalfFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+
+        // One login on the only hashing thread, two waiting in the queue of four
+        List<Future<String>> logins = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            logins.add(callers.submit(() -> service.encode("login")));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.getQueueDepth() < 2 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(service.getQueueDepth()).isEqualTo(2);
+
+        assertThat(service.encodeInBackground("rehash", hash -> running.countDown())).isFalse();
+
+        release.countDown();
+        for (Future<String> login : logins) {
+            assertThat(login.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:login");
+        }
+        assertThat(running.getCount()).isEqualTo(1);
+    }
+
+    private static final class BlockingEncoder implements PasswordEncoder {
+
+        private final CountDownLatch release;
+
+        BlockingEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}